@@ -0,0 +1,14 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 标注在 init 方法上，在虚拟线程中与其他 Bean 的 init 并发执行
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncInit {
+    // 超时时间（毫秒），0 表示使用 summer.init.timeout
+    long timeout() default 0;
+}
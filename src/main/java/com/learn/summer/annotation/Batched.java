@@ -0,0 +1,21 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 标注在单参数方法上，并发调用在时间窗口内或达到批量上限时合并为一次批量方法调用，
+// 由 BatchedBeanPostProcessor 处理，方法须在 Bean 实现的接口中声明
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Batched {
+    // 同一类中的 public 批量方法名，参数为 List<K>，返回 Map<K, V> 或与参数顺序对应的 List<V>
+    String value();
+
+    // 一批最多合并的调用数
+    int maxSize() default 64;
+
+    // 第一个调用到达后最多等待的时间（微秒）
+    long windowMicros() default 1000;
+}
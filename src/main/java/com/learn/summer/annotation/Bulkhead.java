@@ -0,0 +1,17 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 限制方法的并发调用数，已满时等待或抛出 LimitExceededException；标注在类上时全部接口方法共用一个限制。
+// 属性可以是数字或 ${key}/${key:default}，由 LimitBeanPostProcessor 处理
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    String maxConcurrent();
+
+    // 已满时等待空位的最长时间（毫秒），0 表示立即拒绝
+    String maxWait() default "0";
+}
@@ -0,0 +1,15 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.Condition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 全部 Condition 满足时才创建 BeanDefinition，可作为元注解使用
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Conditional {
+    Class<? extends Condition>[] value();
+}
@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.OnClassCondition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 类路径中存在全部指定的类时满足，使用类名以免引用缺失的类
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnClassCondition.class)
+public @interface ConditionalOnClass {
+    String[] value();
+}
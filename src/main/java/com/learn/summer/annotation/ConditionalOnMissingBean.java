@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.OnMissingBeanCondition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 不存在指定类型的 Bean 时满足，未指定类型时取类本身或 @Bean 方法的返回类型
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnMissingBeanCondition.class)
+public @interface ConditionalOnMissingBean {
+    Class<?>[] value() default {};
+}
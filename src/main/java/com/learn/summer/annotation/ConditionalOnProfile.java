@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.OnProfileCondition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 任意一个指定的 profile 处于激活状态时满足，与 @Profile 相同
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnProfileCondition.class)
+public @interface ConditionalOnProfile {
+    String[] value();
+}
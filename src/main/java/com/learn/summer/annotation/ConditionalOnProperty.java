@@ -0,0 +1,18 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.OnPropertyCondition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 属性存在且等于 havingValue 时满足，havingValue 为空时只要求属性值不为 false
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnPropertyCondition.class)
+public @interface ConditionalOnProperty {
+    String value();
+    String havingValue() default "";
+    boolean matchIfMissing() default false;
+}
@@ -0,0 +1,14 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 只记录方法的调用次数和异常次数，不计时，由 TimedBeanPostProcessor 处理
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Metered {
+    // 指标名称，为空时使用 summer.method.metered
+    String value() default "";
+}
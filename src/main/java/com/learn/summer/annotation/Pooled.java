@@ -0,0 +1,27 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.scope.PooledScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 非线程安全的 Bean 放入对象池，getBean 和注入得到的是代理，每次方法调用借出一个实例，调用结束后归还，
+// Bean 须实现接口；也可以通过 PooledScope.borrow() 借出后连续调用多个方法
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Scope(PooledScope.class)
+public @interface Pooled {
+    // 容器启动时创建、空闲淘汰时保留的实例数
+    int min() default 0;
+
+    // 同时借出的最大实例数
+    int max() default 8;
+
+    // 空闲超过该时长（毫秒）的实例被销毁，0 表示不淘汰
+    long idleTimeout() default 60_000;
+
+    // 借满时等待归还的最长时间（毫秒），0 表示一直等待
+    long borrowTimeout() default 1_000;
+}
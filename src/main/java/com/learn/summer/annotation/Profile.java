@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.context.OnProfileCondition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 任意一个 profile 匹配时创建，"!prod" 表示 prod 未激活，未激活任何 profile 时 "default" 生效
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Conditional(OnProfileCondition.class)
+public @interface Profile {
+    String[] value();
+}
@@ -0,0 +1,14 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 标注在 Bean 和注入点上缩小候选范围，也可作为元注解定义 @Fast、@Region("eu") 等限定注解，
+// 注入点的 @Qualifier("xyz") 在没有 Bean 声明该限定时按 Bean 名称匹配
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Qualifier {
+    String value() default "";
+}
@@ -0,0 +1,21 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 令牌桶限制方法的调用速率，没有令牌时等待或抛出 LimitExceededException；标注在类上时全部接口方法共用一个令牌桶。
+// 属性可以是数字或 ${key}/${key:default}，由 LimitBeanPostProcessor 处理
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    // 每秒许可数，可以是小数
+    String permitsPerSecond();
+
+    // 桶容量，即允许的突发调用数，为空时等于每秒许可数（至少为 1）
+    String burst() default "";
+
+    // 等待令牌的最长时间（毫秒），0 表示立即拒绝
+    String maxWait() default "0";
+}
@@ -0,0 +1,26 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @Striped Bean 的方法通过代理调用时依次在每个已创建的分片上执行，并按 value 合并返回值，
+// 可以标注在接口方法或实现方法上
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Reduce {
+    Op value() default Op.SUM;
+
+    enum Op {
+        // 数值求和，返回类型为 int、long、double 或其包装类型
+        SUM,
+        // Comparable 的最小值、最大值
+        MIN,
+        MAX,
+        // 按分片顺序组成 List，返回值为集合时拼接
+        LIST,
+        // 只在每个分片上调用，例如 reset()，返回 null，不能用于返回基本类型的方法
+        NONE
+    }
+}
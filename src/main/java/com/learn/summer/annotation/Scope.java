@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.scope.BeanScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 标注在作用域注解上，带有作用域注解的 Bean 不再是单例，容器中保存的是 BeanScope 提供的代理，
+// value 需有 (ScopedBeanFactory, Annotation) 构造方法
+@Target(ElementType.ANNOTATION_TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scope {
+    Class<? extends BeanScope> value();
+}
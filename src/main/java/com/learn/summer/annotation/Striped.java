@@ -0,0 +1,21 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.scope.StripedScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 保存多个实例（分片），调用按线程 hash 路由到固定的分片，热点 Bean 不再共享同一把锁或缓存行；
+// 标注 @Reduce 的方法在全部分片上调用并合并结果。Bean 须实现接口
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Scope(StripedScope.class)
+public @interface Striped {
+    // 分片数，向上取整为 2 的幂，0 表示 CPU 核数
+    int value() default 0;
+
+    // 调用时对所在分片加锁，Bean 本身可以不是线程安全的
+    boolean locked() default true;
+}
@@ -0,0 +1,16 @@
+package com.learn.summer.annotation;
+
+import com.learn.summer.scope.TaskScope;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 每次 TaskContext.run/call 执行（一个请求或任务）各有一个实例，首次调用时创建，执行结束时销毁；
+// 注入和 getBean 得到的是按当前执行路由的代理。Bean 须实现接口
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Scope(TaskScope.class)
+public @interface TaskScoped {
+}
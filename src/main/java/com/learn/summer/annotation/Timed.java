@@ -0,0 +1,14 @@
+package com.learn.summer.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 记录方法的调用次数、异常次数和耗时分布，标注在类上时作用于全部接口方法，由 TimedBeanPostProcessor 处理
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+    // 指标名称，为空时使用 summer.method.timed
+    String value() default "";
+}
@@ -0,0 +1,91 @@
+package com.learn.summer.batch;
+
+import com.learn.summer.annotation.Batched;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanCreationException;
+import jakarta.annotation.PreDestroy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 为带有 @Batched 方法的 Bean 创建代理，合并并发的单个调用，通过 @Import 或 @Bean 启用
+@Component
+public class BatchedBeanPostProcessor extends ProxyBeanPostProcessor {
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("summer-batch-timer").daemon().factory());
+    // bean name -> 该 Bean 的各个 @Batched 方法
+    private final Map<String, Map<Method, MethodBatcher>> batchers = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(BeanDefinition def) {
+        return Arrays.stream(def.getBeanClass().getMethods()).anyMatch(m -> m.isAnnotationPresent(Batched.class));
+    }
+
+    @Override
+    protected InvocationHandler createHandler(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        Map<Method, MethodBatcher> methods = new HashMap<>();
+        for(Method m : beanClass.getMethods()) {
+            Batched batched = m.getAnnotation(Batched.class);
+            if(batched != null)
+                methods.put(m, createBatcher(bean, beanName, m, batched));
+        }
+        if(methods.isEmpty())
+            return null;
+        batchers.put(beanName, methods);
+        // 接口方法 -> 实现方法上的 MethodBatcher，首次调用时解析
+        Map<Method, Optional<MethodBatcher>> resolved = new ConcurrentHashMap<>();
+        return (proxy, method, args) -> {
+            MethodBatcher batcher = resolved.computeIfAbsent(method,
+                    im -> Optional.ofNullable(methods.get(getImplementation(beanClass, im)))).orElse(null);
+            if(batcher == null)
+                return invokeTarget(bean, method, args);
+            CompletableFuture<Object> future = batcher.submit(args[0]);
+            if(CompletionStage.class.isAssignableFrom(method.getReturnType()))
+                return future;
+            try {
+                return future.join();
+            }catch (CompletionException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    MethodBatcher createBatcher(Object bean, String beanName, Method method, Batched batched) {
+        if(method.getParameterCount() != 1)
+            throw new BeanCreationException(String.format("@Batched method %s of bean '%s' must have exactly " +
+                    "one parameter.", method.getName(), beanName));
+        if(batched.maxSize() < 1 || batched.windowMicros() < 0)
+            throw new BeanCreationException(String.format("Invalid @Batched settings on method %s of bean '%s'.",
+                    method.getName(), beanName));
+        Method bulk;
+        try {
+            bulk = bean.getClass().getMethod(batched.value(), List.class);
+        }catch (NoSuchMethodException e) {
+            throw new BeanCreationException(String.format("Bulk method %s(List) for @Batched method %s not found " +
+                    "in bean '%s'.", batched.value(), method.getName(), beanName));
+        }
+        if(!Map.class.isAssignableFrom(bulk.getReturnType()) && !List.class.isAssignableFrom(bulk.getReturnType()))
+            throw new BeanCreationException(String.format("Bulk method %s of bean '%s' must return Map or List.",
+                    bulk.getName(), beanName));
+        return new MethodBatcher(bean, bulk, batched.maxSize(), TimeUnit.MICROSECONDS.toNanos(batched.windowMicros()),
+                timer);
+    }
+
+    // bean name -> 方法名 -> 合并器，用于观察合并效果
+    public Map<String, Map<String, MethodBatcher>> getBatchers() {
+        Map<String, Map<String, MethodBatcher>> result = new TreeMap<>();
+        batchers.forEach((bean, methods) -> methods.forEach((m, b) ->
+                result.computeIfAbsent(bean, k -> new TreeMap<>()).put(m.getName(), b)));
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,104 @@
+package com.learn.summer.batch;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 收集对同一个 @Batched 方法的并发调用，合并为一次批量方法调用后把结果分发给各调用者；
+// 入队无锁，达到批量上限时由调用线程执行，否则由定时器在窗口结束时交给虚拟线程执行
+public class MethodBatcher {
+    private final Object target;
+    private final Method bulkMethod;
+    private final int maxSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService timer;
+
+    private final ConcurrentLinkedQueue<Call> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    // 窗口定时器是否已安排
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    record Call(Object key, CompletableFuture<Object> future) {}
+
+    public MethodBatcher(Object target, Method bulkMethod, int maxSize, long windowNanos,
+                         ScheduledExecutorService timer) {
+        this.target = target;
+        this.bulkMethod = bulkMethod;
+        this.maxSize = maxSize;
+        this.windowNanos = windowNanos;
+        this.timer = timer;
+    }
+
+    public CompletableFuture<Object> submit(Object key) {
+        Call call = new Call(key, new CompletableFuture<>());
+        calls.increment();
+        queue.add(call);
+        if(size.incrementAndGet() >= maxSize) {
+            // 调用者反正要等待结果，直接在当前线程执行，虚拟线程阻塞时不占用载体线程
+            flush();
+        } else if(scheduled.compareAndSet(false, true)) {
+            timer.schedule(() -> {
+                // 先复位再取出，之后入队的调用会安排新的窗口
+                scheduled.set(false);
+                Thread.ofVirtual().name("summer-batch").start(this::flushAll);
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return call.future();
+    }
+
+    void flushAll() {
+        while(!queue.isEmpty())
+            flush();
+    }
+
+    void flush() {
+        List<Call> batch = new ArrayList<>(maxSize);
+        Call call;
+        while(batch.size() < maxSize && (call = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(call);
+        }
+        if(!batch.isEmpty())
+            execute(batch);
+    }
+
+    void execute(List<Call> batch) {
+        batches.increment();
+        // 相同的 key 只查询一次
+        Map<Object, List<CompletableFuture<Object>>> waiters = new LinkedHashMap<>();
+        for(Call c : batch)
+            waiters.computeIfAbsent(c.key(), k -> new ArrayList<>(1)).add(c.future());
+        List<Object> keys = new ArrayList<>(waiters.keySet());
+        try {
+            Object result = bulkMethod.invoke(target, keys);
+            if(result instanceof Map<?, ?> map) {
+                waiters.forEach((key, futures) -> futures.forEach(f -> f.complete(map.get(key))));
+            } else if(result instanceof List<?> list && list.size() == keys.size()) {
+                for(int i = 0; i < keys.size(); i++) {
+                    Object value = list.get(i);
+                    waiters.get(keys.get(i)).forEach(f -> f.complete(value));
+                }
+            } else {
+                throw new IllegalStateException(String.format("Bulk method %s must return a Map or a List of " +
+                        "%d elements, but returned %s.", bulkMethod, keys.size(), result));
+            }
+        }catch (Throwable e) {
+            Throwable cause = e instanceof InvocationTargetException ite ? ite.getCause() : e;
+            batch.forEach(c -> c.future().completeExceptionally(cause));
+        }
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+}
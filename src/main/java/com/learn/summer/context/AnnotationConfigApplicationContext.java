@@ -2,17 +2,37 @@ package com.learn.summer.context;
 
 import com.learn.summer.annotation.*;
 import com.learn.summer.exception.*;
+import com.learn.summer.expression.EvaluationContext;
+import com.learn.summer.expression.Expression;
 import com.learn.summer.io.PropertyResolver;
 import com.learn.summer.io.ResourceResolver;
+import com.learn.summer.jfr.*;
+import com.learn.summer.metrics.MeterRegistry;
+import com.learn.summer.scope.BeanScope;
+import com.learn.summer.scope.ScopedBeanFactory;
+import com.learn.summer.utils.ClassPathUtils;
 import com.learn.summer.utils.ClassUtils;
+import com.learn.summer.utils.MergedAnnotations;
+import com.learn.summer.utils.TypeUtils;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class AnnotationConfigApplicationContext implements ConfigurableApplicationContext{
@@ -20,43 +40,263 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
     protected final PropertyResolver propertyResolver;
     protected final Map<String, BeanDefinition> beans;
+    protected final StartupRecorder startupRecorder;
+    protected final ContextSnapshot snapshot;
+    // 父容器，子容器中找不到的 Bean 从父容器查找
+    protected final ConfigurableApplicationContext parent;
+    // 类型索引，缓存每个类型排好序的 BeanDefinition 列表，注册/移除 Bean 时增量更新
+    protected final Map<Class<?>, List<BeanDefinition>> typeIndex = new ConcurrentHashMap<>();
+    // 带泛型参数的类型索引，例如 Repository<User>
+    protected final Map<Type, List<BeanDefinition>> genericTypeIndex = new ConcurrentHashMap<>();
+    // 限定注解 -> 声明了该限定的 Bean，每个限定注解只扫描一次全部 BeanDefinition
+    protected final Map<Annotation, Set<BeanDefinition>> qualifierIndex = new ConcurrentHashMap<>();
+    // 按类型解析出的唯一 BeanDefinition（含 @Primary 选择）
+    protected final Map<Type, BeanDefinition> resolvedIndex = new ConcurrentHashMap<>();
+    // 容器启动完成后按类型缓存排好序的实例，供 List/Map 注入和 getBeans 使用
+    protected final Map<Type, Candidates> candidatesIndex = new ConcurrentHashMap<>();
+    // @Value 中的 #{...} 表达式字符串 -> 编译结果，同一个表达式只解析一次
+    protected final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    // 启动完成后 Bean 实例不再被 BeanPostProcessor 替换，可以缓存
+    private volatile boolean started = false;
 
     // 用 Set 表示正在创建的 Bean，以解决循环依赖问题
     private Set<String> creatingBeanNames;
-    private List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+    // 不可变列表，变化时整体替换，BeanDefinition 据此判断缓存的处理器链是否过期
+    private volatile List<BeanPostProcessor> beanPostProcessors = List.of();
+    // 正在由生成代码创建或注入的 Bean，用于记录依赖；作用域实例可能在多个线程中同时创建
+    private final ThreadLocal<BeanDefinition> resolvingDefinition = new ThreadLocal<>();
+    private final ConditionEvaluator conditionEvaluator = new ConditionEvaluator();
+
+    public static final String METER_REGISTRY_BEAN_NAME = "meterRegistry";
+    public static final String INIT_TIMEOUT_KEY = "summer.init.timeout";
+    public static final String SHUTDOWN_TIMEOUT_KEY = "summer.shutdown.timeout";
+    public static final String SHUTDOWN_BEAN_TIMEOUT_KEY = "summer.shutdown.bean-timeout";
 
     public AnnotationConfigApplicationContext(Class<?> configClass, PropertyResolver resolver) {
-        ApplicationContextUtils.setApplicationContext(this);
+        this(configClass, resolver, null, false);
+    }
+
+    // 子容器只扫描自己的包，缺少的 Bean 从父容器获取
+    public AnnotationConfigApplicationContext(Class<?> configClass, PropertyResolver resolver,
+                                              ConfigurableApplicationContext parent) {
+        this(configClass, resolver, Objects.requireNonNull(parent, "Parent context is null."), false);
+    }
 
+    // 函数式注册，不扫描类路径，Bean 由 initializer 通过 Supplier 注册，仍执行 BeanPostProcessor 和生命周期
+    public AnnotationConfigApplicationContext(PropertyResolver resolver, BeanFactoryInitializer initializer) {
         this.propertyResolver = resolver;
-        // 扫描包中 .class 文件，并获得完整类名
-        Set<String> beanClassNames = scanForClassNames(configClass);
-        // 创建 Bean 定义
-        this.beans = createBeanDefinitions(beanClassNames);
+        this.parent = null;
+        this.startupRecorder = new StartupRecorder(resolver);
+        this.snapshot = new ContextSnapshot(null, resolver, new String[0]);
+        this.creatingBeanNames = new HashSet<>();
+        this.beans = new ConcurrentHashMap<>();
+        ApplicationContextUtils.setApplicationContext(this);
+        long t = startupRecorder.startPhase();
+        initializer.initialize(new AotBeanRegistry(this));
+        startupRecorder.phase("define", t);
+        registerMeterRegistry();
+        createBeans();
+        injectAndInitBeans();
+        this.started = true;
+        startupRecorder.finish();
+        publishStartupMetrics();
+    }
 
+    // definitionsOnly 为 true 时只扫描并创建 BeanDefinition，不实例化，供 AotGenerator 使用
+    AnnotationConfigApplicationContext(Class<?> configClass, PropertyResolver resolver,
+                                       ConfigurableApplicationContext parent, boolean definitionsOnly) {
+        this.propertyResolver = resolver;
+        this.parent = parent;
+        this.startupRecorder = new StartupRecorder(resolver);
+        this.snapshot = new ContextSnapshot(configClass, resolver, getScanPackages(configClass));
         this.creatingBeanNames = new HashSet<>();
+        if(definitionsOnly) {
+            this.beans = new ConcurrentHashMap<>(createBeanDefinitions(scanForClassNames(configClass)));
+            return;
+        }
+        // 子容器不覆盖全局的 ApplicationContext
+        if(parent == null)
+            ApplicationContextUtils.setApplicationContext(this);
+
+        // 优先使用构建期生成的 BeanFactoryInitializer，其次从快照恢复 BeanDefinition
+        BeanFactoryInitializer aotInitializer = findAotInitializer(configClass);
+        long t = startupRecorder.startPhase();
+        Map<String, BeanDefinition> restored = aotInitializer == null ? snapshot.restore() : null;
+        if(snapshot.isEnabled())
+            startupRecorder.phase("restore-snapshot", t);
+        if(aotInitializer != null) {
+            this.beans = new ConcurrentHashMap<>();
+            t = startupRecorder.startPhase();
+            aotInitializer.initialize(new AotBeanRegistry(this));
+            startupRecorder.phase("aot-define", t);
+            registerMeterRegistry();
+            createBeans();
+        } else if(restored != null) {
+            this.beans = new ConcurrentHashMap<>(restored);
+            registerMeterRegistry();
+            t = startupRecorder.startPhase();
+            createBeansFromSnapshot();
+            startupRecorder.phase("create-beans", t);
+        } else {
+            // 扫描包中 .class 文件，并获得完整类名
+            t = startupRecorder.startPhase();
+            Set<String> beanClassNames = scanForClassNames(configClass);
+            startupRecorder.phase("scan", t);
+            // 创建 Bean 定义
+            t = startupRecorder.startPhase();
+            this.beans = new ConcurrentHashMap<>(createBeanDefinitions(beanClassNames));
+            startupRecorder.phase("define", t);
+            registerMeterRegistry();
+            validateDefinitions();
+            createBeans();
+        }
+        injectAndInitBeans();
+        this.started = true;
+        snapshot.stopRecording();
+        if(aotInitializer == null)
+            snapshot.save(this.beans);
+        startupRecorder.finish();
+        publishStartupMetrics();
+    }
+
+    // 容器自带的 MeterRegistry，已有同名 BeanDefinition 时使用已定义的
+    void registerMeterRegistry() {
+        if(this.beans.containsKey(METER_REGISTRY_BEAN_NAME))
+            return;
+        Method destroy = ClassUtils.findAnnotationMethod(MeterRegistry.class, PreDestroy.class);
+        this.beans.put(METER_REGISTRY_BEAN_NAME, new BeanDefinition(METER_REGISTRY_BEAN_NAME, MeterRegistry.class,
+                MeterRegistry::new, bean -> {}, Integer.MAX_VALUE, false, null,
+                destroy == null ? null : destroy.getName()));
+    }
+
+    // 启动耗时、Bean 数量和各阶段耗时（秒）
+    void publishStartupMetrics() {
+        MeterRegistry registry = getMeterRegistry();
+        double startup = startupRecorder.getStartupNanos() / 1e9;
+        registry.gauge("summer.context.startup.seconds", () -> startup);
+        registry.gauge("summer.context.beans", this.beans, Map::size);
+        startupRecorder.getPhaseNanos().forEach((phase, nanos) ->
+                registry.gauge("summer.context.phase.seconds", () -> nanos / 1e9, "phase", phase));
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return getBean(METER_REGISTRY_BEAN_NAME, MeterRegistry.class);
+    }
+
+    void injectAndInitBeans() {
+        // 字段和 Setter 方法注入
+        long t = startupRecorder.startPhase();
+        this.beans.values().forEach(this::injectBean);
+        startupRecorder.phase("inject", t);
+        // 调用 init 方法
+        t = startupRecorder.startPhase();
+        initBeans();
+        startupRecorder.phase("init", t);
+    }
+
+    // 实例化之前解析全部注入点，一次报告所有问题，并按需导出依赖图
+    void validateDefinitions() {
+        boolean enabled = propertyResolver.getProperty(DependencyGraph.VALIDATION_ENABLED_KEY, boolean.class, true);
+        String file = propertyResolver.getProperty(DependencyGraph.EXPORT_FILE_KEY);
+        boolean export = file != null && !file.isEmpty();
+        if(!enabled && !export)
+            return;
+        long t = startupRecorder.startPhase();
+        DependencyGraph graph = getDependencyGraph();
+        startupRecorder.phase("validate", t);
+        List<String> criticalPath = graph.getCriticalPath();
+        logger.info("dependency graph: {} beans, {} edges, critical path length {}: {}", graph.getNodes().size(),
+                graph.getEdges().size(), criticalPath.size(), String.join(" -> ", criticalPath));
+        if(export) {
+            try {
+                Files.writeString(Path.of(file), file.endsWith(".json") ? graph.toJson() : graph.toDot(),
+                        StandardCharsets.UTF_8);
+                logger.info("dependency graph written to {}", file);
+            }catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if(enabled)
+            graph.validate();
+    }
+
+    // 根据当前的 BeanDefinition 构建依赖图，不会创建 Bean
+    public DependencyGraph getDependencyGraph() {
+        return new DependencyGraph(this);
+    }
+
+    @Nullable
+    BeanFactoryInitializer findAotInitializer(Class<?> configClass) {
+        if(!propertyResolver.getProperty(BeanFactoryInitializer.ENABLED_KEY, boolean.class, false))
+            return null;
+        String name = BeanFactoryInitializer.getInitializerClassName(configClass);
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(name, true, ClassPathUtils.getClassLoader());
+        }catch (ClassNotFoundException e) {
+            return null;
+        }
+        logger.info("use ahead-of-time bean factory: {}", name);
+        try {
+            return (BeanFactoryInitializer) clazz.getConstructor().newInstance();
+        }catch (ReflectiveOperationException e) {
+            throw new BeanDefinitionException("Cannot instantiate generated bean factory " + name, e);
+        }
+    }
+
+    void createBeans() {
         // 先创建 @Configuration 类型 Bean
+        long t = startupRecorder.startPhase();
         this.beans.values().stream()
                 .filter(this::isConfigurationDefinition).sorted()
                 .map(def -> {
                     createBeanAsEarlySingleton(def);
                     return def.getName();
                 }).toList();
+        startupRecorder.phase("create-configurations", t);
 
         // 创建BeanPostProcessor类型的Bean
+        t = startupRecorder.startPhase();
         List<BeanPostProcessor> processors = this.beans.values().stream()
                 .filter(this::isBeanPostProcessorDefinition)
                 .sorted()
                 .map(def -> (BeanPostProcessor)createBeanAsEarlySingleton(def))
                 .toList();
-        this.beanPostProcessors.addAll(processors);
+        addBeanPostProcessors(processors);
+        startupRecorder.phase("create-post-processors", t);
 
         // 创建其他普通 Bean
+        t = startupRecorder.startPhase();
         createNormalBeans();
-        // 字段和 Setter 方法注入
-        this.beans.values().forEach(this::injectBean);
-        // 调用 init 方法
-        this.beans.values().forEach(this::initBean);
+        startupRecorder.phase("create-beans", t);
+    }
+
+    // 按快照中记录的顺序创建，依赖总是已经创建好，不再递归查找
+    void createBeansFromSnapshot() {
+        boolean processorsReady = false;
+        for(String name : snapshot.getCreationOrder()) {
+            BeanDefinition def = this.beans.get(name);
+            if(!processorsReady && !isConfigurationDefinition(def) && !isBeanPostProcessorDefinition(def)) {
+                // 普通 Bean 之前，BeanPostProcessor 必须按顺序就绪；构造方法依赖普通 Bean 的处理器记录在其依赖之后，这里先创建
+                addBeanPostProcessors(this.beans.values().stream()
+                        .filter(this::isBeanPostProcessorDefinition).sorted()
+                        .map(d -> (BeanPostProcessor) (d.getInstance() != null ? d.getInstance()
+                                : createBeanAsEarlySingleton(d)))
+                        .toList());
+                processorsReady = true;
+            }
+            if(def.getInstance() == null)
+                createBeanAsEarlySingleton(def);
+        }
+        createNormalBeans();
+    }
+
+    public ContextSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public StartupRecorder getStartupRecorder() {
+        return startupRecorder;
     }
 
     void createNormalBeans() {
@@ -76,7 +316,73 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             throw new UnsatisfiedDependencyException(String.format(
                     "Circular dependency detected when create bean '%s'", def.getName()));
         }
+        if(!def.isSingleton())
+            return createScopedBean(def);
+        return doCreateBean(def);
+    }
+
+    // 作用域 Bean 在容器中保存的是路由代理，实例由 BeanScope 通过 createScopedInstance 按需创建
+    Object createScopedBean(BeanDefinition def) {
+        Annotation annotation = def.getScopeAnnotation();
+        Class<? extends BeanScope> scopeClass = annotation.annotationType().getAnnotation(Scope.class).value();
+        BeanScope scope;
+        try {
+            scope = scopeClass.getConstructor(ScopedBeanFactory.class, Annotation.class)
+                    .newInstance(new DefaultScopedBeanFactory(this, def), annotation);
+        }catch (InvocationTargetException e) {
+            if(e.getCause() instanceof BeansException be)
+                throw be;
+            throw new BeanCreationException(String.format("Cannot create %s for bean '%s'.",
+                    scopeClass.getSimpleName(), def.getName()), e.getCause());
+        }catch (ReflectiveOperationException e) {
+            throw new BeanDefinitionException(String.format("Scope %s must have a public constructor " +
+                    "(ScopedBeanFactory, Annotation).", scopeClass.getName()), e);
+        }
+        def.setScope(scope);
+        def.setInstance(scope.getProxy());
+        snapshot.recordCreated(def.getName());
+        return def.getInstance();
+    }
 
+    // 作用域 Bean 的一个新实例，与单例相同的创建、注入、init 和 BeanPostProcessor 流程，运行期可能并发调用，
+    // 每个实例使用各自的 BeanDefinition 副本
+    BeanDefinition createScopedInstance(BeanDefinition def) {
+        BeanDefinition copy = def.newScopedInstance();
+        doCreateBean(copy);
+        injectBean(copy);
+        initBean(copy);
+        // 依赖记录到容器中的 BeanDefinition，保证先于依赖销毁；dependsOn 是线程安全的集合，不加锁
+        copy.getDependsOn().forEach(def::addDependsOn);
+        return copy;
+    }
+
+    void destroyScopedInstance(BeanDefinition copy) {
+        destroyBean(copy, new HashMap<>());
+    }
+
+    // 作用域可能在 MeterRegistry 之前创建
+    MeterRegistry getOrCreateMeterRegistry() {
+        BeanDefinition def = findBeanDefinition(METER_REGISTRY_BEAN_NAME);
+        if(def == null)
+            throw new NoSuchBeanDefinitionException("No bean defined with name '" + METER_REGISTRY_BEAN_NAME + "'");
+        createIfAbsent(def);
+        return (MeterRegistry) def.getRequiredInstance();
+    }
+
+    // 非单例 Bean 的作用域，例如通过 PooledScope.borrow() 借出实例连续调用多个方法
+    public <S extends BeanScope> S getBeanScope(String name, Class<S> scopeType) {
+        BeanDefinition def = findBeanDefinition(name);
+        if(def == null)
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'", name));
+        if(!scopeType.isInstance(def.getScope()))
+            throw new BeanNotOfRequiredTypeException(String.format("Bean '%s' is not in scope %s.",
+                    name, scopeType.getSimpleName()));
+        return scopeType.cast(def.getScope());
+    }
+
+    Object doCreateBean(BeanDefinition def) {
+        if(def.getInstanceSupplier() != null)
+            return createBeanFromSupplier(def);
         // 工厂方法或构造方法
         Executable createFn = def.getFactoryName() == null
                 ? def.getConstructor() : def.getFactoryMethod();
@@ -84,6 +390,9 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         Parameter[] parameters = createFn.getParameters();
         logger.atDebug().log("parameters: {}", Arrays.stream(parameters).toList());
         Object[] args = new Object[parameters.length];
+        // 快照回放时直接使用记录的依赖
+        String[] recordedArgs = snapshot.getArguments(def.getName());
+        String[] argBeanNames = new String[parameters.length];
         for(int i = 0; i < parameters.length; i++) {
             Parameter param = parameters[i];
             // 这里直接从参数的注解中获得相应的注解，简化了参考（是否合理）
@@ -109,14 +418,23 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             // 获取参数
             Class<?> type = param.getType();
             if(value != null) {
-                String prop = value.value();
-                args[i] = propertyResolver.getRequiredProperty(prop, type);
+                args[i] = resolveValue(def, value.value(), type, true);
+            } else if(isContainerInjection(type)) {
+                args[i] = resolveContainerDependency(def, param.getParameterizedType(), type,
+                        ClassUtils.getQualifiers(param.getAnnotations()), param.getName(), true);
             } else {
                 String name = autowired.name();
                 boolean required = autowired.value();
                 // 若指定了名字，还需要检查依赖的 Bean 是否与参数 type 匹配
-                BeanDefinition dependsOnDef = name.isEmpty() ? findBeanDefinition(type) :
-                        findBeanDefinition(name, type);
+                BeanDefinition dependsOnDef;
+                if(recordedArgs != null) {
+                    dependsOnDef = recordedArgs[i] == null ? null : findBeanDefinition(recordedArgs[i]);
+                    if(recordedArgs[i] != null && dependsOnDef == null)
+                        throw ContextSnapshot.missing(def.getName(), recordedArgs[i]);
+                } else {
+                    dependsOnDef = name.isEmpty() ? findBeanDefinition(param.getParameterizedType(),
+                            ClassUtils.getQualifiers(param.getAnnotations())) : findBeanDefinition(name, type);
+                }
                 // required 为 true 时，依赖的Bean必须存在
                 if(required && dependsOnDef == null)
                     throw new BeanCreationException("Missing autowired bean with type '%s' when create bean '%s':%s."
@@ -126,12 +444,19 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                     if(autowiredInstance == null)
                         autowiredInstance = createBeanAsEarlySingleton(dependsOnDef);
                     args[i] = autowiredInstance;
+                    argBeanNames[i] = dependsOnDef.getName();
+                    def.addDependsOn(dependsOnDef.getName());
                 } else {
                     args[i] = null;
                 }
             }
         }
+        if(!def.isScopedInstance())
+            snapshot.recordArguments(def.getName(), argBeanNames);
         // 创建 Bean 实例
+        long t = startupRecorder.start();
+        var event = new BeanInstantiationEvent();
+        event.begin();
         Object instance = null;
         if(def.getFactoryMethod() == null) {
             try {
@@ -142,6 +467,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                         def.getName(), def.getBeanClass().getName()), e);
             }
         } else {
+            def.addDependsOn(def.getFactoryName());
             Object configInstance = getBean(def.getFactoryName());
             try {
                 instance = def.getFactoryMethod().invoke(configInstance, args);
@@ -151,35 +477,232 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             }
         }
         def.setInstance(instance);
+        commit(event, def);
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.CREATE, t);
+        return postProcessBeforeInitialization(def, instance);
+    }
+
+    // 由生成代码直接创建实例，不再反射查找构造参数
+    Object createBeanFromSupplier(BeanDefinition def) {
+        long t = startupRecorder.start();
+        var event = new BeanInstantiationEvent();
+        event.begin();
+        Object instance;
+        BeanDefinition previous = this.resolvingDefinition.get();
+        this.resolvingDefinition.set(def);
+        try {
+            instance = def.getInstanceSupplier().get();
+        }catch (BeansException e) {
+            throw e;
+        }catch (RuntimeException e) {
+            throw new BeanCreationException(String.format("Exception when create bean '%s': %s",
+                    def.getName(), def.getBeanClass().getName()), e);
+        }finally {
+            this.resolvingDefinition.set(previous);
+        }
+        def.setInstance(instance);
+        commit(event, def);
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.CREATE, t);
+        return postProcessBeforeInitialization(def, instance);
+    }
 
+    Object postProcessBeforeInitialization(BeanDefinition def, Object instance) {
         // 调用BeanPostProcessor处理Bean
-        for(BeanPostProcessor processor : beanPostProcessors) {
+        long t = startupRecorder.start();
+        for(BeanPostProcessor processor : getBeanPostProcessors(def)) {
             Object processed = processor.postProcessBeforeInitialization(instance, def.getName());
             if(instance != processed) {
                 logger.atDebug().log("Bean '{}' was replaced by post processor {}.", def.getName(), processor.getClass().getName());
                 def.setInstance(processed);
+                startupRecorder.beanReplaced(def.getName(), processor);
             }
         }
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.POST_PROCESS, t);
+        if(!def.isScopedInstance())
+            snapshot.recordCreated(def.getName());
         return def.getInstance();
     }
 
     void injectBean(BeanDefinition def) {
+        // 作用域的实例在创建时各自注入
+        if(def.getScope() != null)
+            return;
+        long t = startupRecorder.start();
+        var event = new BeanInjectionEvent();
+        event.begin();
         Object proxiedBean = getProxiedInstance(def);
+        BeanDefinition previous = this.resolvingDefinition.get();
+        this.resolvingDefinition.set(def);
         try {
-            // 需要递归调用，包装一层
-            injectProperties(def, def.getBeanClass(), proxiedBean);
+            if(def.getInjector() != null)
+                def.getInjector().accept(proxiedBean);
+            else
+                // 需要递归调用，包装一层
+                injectProperties(def, def.getBeanClass(), proxiedBean);
         }catch (ReflectiveOperationException e) {
             throw new BeanCreationException(e);
+        }finally {
+            this.resolvingDefinition.set(previous);
+        }
+        commit(event, def);
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.INJECT, t);
+    }
+
+    // 生成代码解析 @Value 时，表达式引用的 Bean 记录到当前 Bean
+    <T> T resolveValue(String value, Class<T> type, boolean required) {
+        return resolveValue(this.resolvingDefinition.get(), value, type, required);
+    }
+
+    // 生成代码获取依赖时记录到当前 Bean
+    void recordDependency(String beanName) {
+        BeanDefinition def = this.resolvingDefinition.get();
+        if(def != null)
+            def.addDependsOn(beanName);
+    }
+
+    // 调用 init 方法，存在异步 init 时按依赖关系并发执行
+    void initBeans() {
+        Map<String, Method> initMethods = new HashMap<>();
+        boolean async = false;
+        for(BeanDefinition def : this.beans.values()) {
+            if(def.getInitCallback() != null || def.getScope() != null)
+                continue;
+            Method m = resolveMethod(getProxiedInstance(def), def.getInitMethod(), def.getInitMethodName());
+            if(m != null) {
+                initMethods.put(def.getName(), m);
+                async |= isAsyncInit(m);
+            }
+        }
+        if(!async) {
+            this.beans.values().forEach(this::initBean);
+            return;
+        }
+        Duration defaultTimeout = propertyResolver.getProperty(INIT_TIMEOUT_KEY, Duration.class);
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for(BeanDefinition def : this.beans.values())
+                initFuture(def, initMethods, futures, new HashSet<>(), executor, defaultTimeout);
+            // 启动屏障：等待全部 init 完成或失败
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .exceptionally(e -> null).join();
+        } finally {
+            // 不等待超时仍未结束的 init
+            executor.shutdown();
+        }
+        // 依赖失败的 Bean 会得到同一个异常，去重后合并
+        Set<Throwable> failures = Collections.newSetFromMap(new IdentityHashMap<>());
+        futures.values().forEach(f -> f.exceptionally(e -> {
+            failures.add(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            return null;
+        }));
+        if(!failures.isEmpty()) {
+            var e = new BeanCreationException(String.format("%d init method(s) failed: %s", failures.size(),
+                    failures.stream().map(Throwable::getMessage).collect(Collectors.joining("; "))));
+            failures.forEach(e::addSuppressed);
+            throw e;
+        }
+        this.beans.values().forEach(this::postProcessAfterInitialization);
+    }
+
+    // 依赖的 init 全部完成后才执行本 Bean 的 init
+    CompletableFuture<Void> initFuture(BeanDefinition def, Map<String, Method> initMethods,
+                                       Map<String, CompletableFuture<Void>> futures, Set<String> visiting,
+                                       ExecutorService executor, Duration defaultTimeout) {
+        CompletableFuture<Void> future = futures.get(def.getName());
+        if(future != null)
+            return future;
+        visiting.add(def.getName());
+        List<CompletableFuture<Void>> deps = new ArrayList<>();
+        for(String dep : def.getDependsOn()) {
+            BeanDefinition depDef = this.beans.get(dep);
+            // 字段注入允许循环依赖，忽略回边
+            if(depDef != null && !visiting.contains(dep))
+                deps.add(initFuture(depDef, initMethods, futures, visiting, executor, defaultTimeout));
         }
+        visiting.remove(def.getName());
+        Method m = initMethods.get(def.getName());
+        future = CompletableFuture.allOf(deps.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> {
+                    if(m != null)
+                        return runInit(def, m, executor, defaultTimeout);
+                    // 函数式注册的 init 及作用域的 start() 同步执行
+                    if(def.getInitCallback() != null || def.getScope() != null)
+                        invokeInit(def);
+                    return CompletableFuture.completedFuture(null);
+                });
+        futures.put(def.getName(), future);
+        return future;
+    }
+
+    CompletableFuture<Void> runInit(BeanDefinition def, Method m, ExecutorService executor, Duration defaultTimeout) {
+        long t = startupRecorder.start();
+        var event = new BeanInitEvent();
+        event.begin();
+        Object bean = getProxiedInstance(def);
+        CompletableFuture<Object> result;
+        if(m.isAnnotationPresent(AsyncInit.class)) {
+            result = CompletableFuture.supplyAsync(() -> invokeMethod(bean, m), executor);
+        } else {
+            try {
+                result = CompletableFuture.completedFuture(invokeMethod(bean, m));
+            }catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<Void> future = result.thenCompose(r -> r instanceof CompletionStage<?> stage
+                ? stage.toCompletableFuture().thenApply(x -> null) : CompletableFuture.completedFuture(null));
+        AsyncInit asyncInit = m.getAnnotation(AsyncInit.class);
+        Duration timeout = asyncInit != null && asyncInit.timeout() > 0
+                ? Duration.ofMillis(asyncInit.timeout()) : defaultTimeout;
+        if(timeout != null)
+            future = future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return future.handle((v, e) -> {
+            if(e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                String reason = cause instanceof TimeoutException ? "timed out after " + timeout : cause.toString();
+                throw new BeanCreationException(String.format("Init method of bean '%s' %s",
+                        def.getName(), reason), cause);
+            }
+            commit(event, def);
+            startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.INIT, t);
+            return null;
+        });
+    }
+
+    boolean isAsyncInit(Method m) {
+        return m.isAnnotationPresent(AsyncInit.class) || CompletionStage.class.isAssignableFrom(m.getReturnType());
     }
 
     void initBean(BeanDefinition def) {
+        invokeInit(def);
+        postProcessAfterInitialization(def);
+    }
+
+    void invokeInit(BeanDefinition def) {
+        if(def.getScope() != null) {
+            def.getScope().start();
+            return;
+        }
         // 调用原始实例的方法
+        long t = startupRecorder.start();
+        var event = new BeanInitEvent();
+        event.begin();
         Object beanInstance = getProxiedInstance(def);
-        callMethod(beanInstance, def.getInitMethod(), def.getInitMethodName());
+        if(def.getInitCallback() != null)
+            def.getInitCallback().accept(beanInstance);
+        else
+            callMethod(beanInstance, def.getInitMethod(), def.getInitMethodName());
+        commit(event, def);
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.INIT, t);
+    }
 
+    void postProcessAfterInitialization(BeanDefinition def) {
+        if(def.getScope() != null)
+            return;
         // 调用BeanPostProcessor.postProcessAfterInitialization()
-        beanPostProcessors.forEach(beanPostProcessor -> {
+        long t = startupRecorder.start();
+        getBeanPostProcessors(def).forEach(beanPostProcessor -> {
             Object processedInstance = beanPostProcessor.postProcessAfterInitialization(
                     def.getInstance(), def.getName());
             if(processedInstance != def.getInstance()) {
@@ -187,8 +710,10 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                         beanPostProcessor.getClass().getSimpleName(),
                         def.getInstance().getClass().getName(), processedInstance.getClass().getName());
                 def.setInstance(processedInstance);
+                startupRecorder.beanReplaced(def.getName(), beanPostProcessor);
             }
         });
+        startupRecorder.beanStep(def.getName(), StartupRecorder.BeanStep.POST_PROCESS, t);
     }
 
     void injectProperties(BeanDefinition def, Class<?> clazz, Object bean)
@@ -205,6 +730,52 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             injectProperties(def, superClass, bean);
     }
 
+    // @Value 的值：配置 key、${key:default} 或 #{...} 表达式，表达式中引用的 Bean 作为 def 的依赖
+    @SuppressWarnings("unchecked")
+    <T> T resolveValue(@Nullable BeanDefinition def, String value, Class<T> type, boolean required) {
+        if(!Expression.isExpression(value)) {
+            T result = required ? propertyResolver.getRequiredProperty(value, type)
+                    : propertyResolver.getProperty(value, type);
+            // 作用域实例每次创建时重新读取，可能在其他线程中创建，不录制
+            if(def == null || !def.isScopedInstance())
+                snapshot.recordValue(value);
+            return result;
+        }
+        Expression expr = parseExpression(value);
+        Object result = expr.getValue(new EvaluationContext() {
+            @Override
+            public String getProperty(String placeholder) {
+                return propertyResolver.getProperty(placeholder);
+            }
+
+            @Override
+            public Object getBean(String name) {
+                BeanDefinition dep = findBeanDefinition(name);
+                if(dep == null)
+                    throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s' " +
+                            "referenced by %s.", name, value));
+                if(def != null)
+                    def.addDependsOn(name);
+                createIfAbsent(dep);
+                return dep.getRequiredInstance();
+            }
+        });
+        expr.getPlaceholders().forEach(snapshot::recordValue);
+        result = Expression.coerce(result, type);
+        if(result == null) {
+            if(required)
+                throw new BeanCreationException("Expression " + value + " evaluated to null.");
+            return null;
+        }
+        Class<?> wrapped = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        return wrapped.isInstance(result) ? (T) result : propertyResolver.convert(type, result.toString());
+    }
+
+    Expression parseExpression(String value) {
+        Expression expr = expressions.get(value);
+        return expr != null ? expr : expressions.computeIfAbsent(value, Expression::parse);
+    }
+
     void tryInjectProperties(BeanDefinition def, Class<?> clazz, Object bean, AccessibleObject acc)
             throws ReflectiveOperationException {
         Value value = acc.getAnnotation(Value.class);
@@ -238,7 +809,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
         // @Value 注入
         if(value != null) {
-            Object propValue = this.propertyResolver.getProperty(value.value(), accessibleType);
+            Object propValue = resolveValue(def, value.value(), accessibleType, false);
             if(field != null) {
                 logger.atDebug().log("Field injection: {}.{} = {}",
                         def.getBeanClass().getSimpleName(), accessibleName, propValue);
@@ -252,13 +823,26 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         }
         // @Autowired 注入
         if(autowired != null) {
-            String name = autowired.name();
-            boolean required = autowired.value();
-            Object depends = name.isEmpty() ? findBean(accessibleType) : findBean(name, accessibleType);
-            if(required && depends == null)
-                throw new UnsatisfiedDependencyException(String.format("Dependency bean not found when " +
-                        "inject %s.%s for bean '%s':%s", clazz.getSimpleName(), accessibleName,
-                        def.getName(), def.getBeanClass().getSimpleName()));
+            Object depends;
+            Type genericType = field != null ? field.getGenericType() : method.getGenericParameterTypes()[0];
+            List<Annotation> qualifiers = field != null ? ClassUtils.getQualifiers(field.getAnnotations())
+                    : ClassUtils.getQualifiers(method.getAnnotations(), method.getParameterAnnotations()[0]);
+            if(isContainerInjection(accessibleType)) {
+                depends = resolveContainerDependency(def, genericType, accessibleType, qualifiers, accessibleName,
+                        false);
+            } else {
+                String name = autowired.name();
+                boolean required = autowired.value();
+                BeanDefinition dependsOnDef = name.isEmpty() ? findBeanDefinition(genericType, qualifiers)
+                        : findBeanDefinition(name, accessibleType);
+                depends = dependsOnDef == null ? null : dependsOnDef.getRequiredInstance();
+                if(dependsOnDef != null)
+                    def.addDependsOn(dependsOnDef.getName());
+                if(required && depends == null)
+                    throw new UnsatisfiedDependencyException(String.format("Dependency bean not found when " +
+                            "inject %s.%s for bean '%s':%s", clazz.getSimpleName(), accessibleName,
+                            def.getName(), def.getBeanClass().getSimpleName()));
+            }
             if(depends != null) {
                 if(field != null) {
                     logger.atDebug().log("Field injection: {}.{} = {}",
@@ -274,6 +858,77 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         }
     }
 
+    // 由容器直接提供的注入类型，PropertyResolver 用于按配置 key 读取任意属性
+    boolean isContainerInjection(Class<?> type) {
+        return type == List.class || type == Map.class || type == Optional.class || type == ObjectProvider.class
+                || type == PropertyResolver.class;
+    }
+
+    // List<T>、Map<String, T>、Optional<T> 和 ObjectProvider<T> 注入点，没有候选 Bean 时注入空集合而不报错；
+    // create 为 true 时（构造方法注入）先创建尚未创建的候选 Bean
+    Object resolveContainerDependency(BeanDefinition def, Type genericType, Class<?> type,
+                                      List<Annotation> qualifiers, String target, boolean create) {
+        if(type == PropertyResolver.class)
+            return propertyResolver;
+        Type elementType = getElementType(def, genericType, type == Map.class ? 1 : 0, target);
+        if(type == ObjectProvider.class)
+            return new BeanObjectProvider<>(this, elementType, qualifiers);
+        if(type == Optional.class) {
+            BeanDefinition candidate = findBeanDefinition(elementType, qualifiers);
+            if(candidate == null)
+                return Optional.empty();
+            def.addDependsOn(candidate.getName());
+            if(create && candidate.getInstance() == null)
+                createBeanAsEarlySingleton(candidate);
+            return Optional.of(candidate.getRequiredInstance());
+        }
+        List<BeanDefinition> defs = findBeanDefinitionsIncludingParent(elementType, qualifiers);
+        for(BeanDefinition candidate : defs) {
+            def.addDependsOn(candidate.getName());
+            if(create && candidate.getInstance() == null)
+                createBeanAsEarlySingleton(candidate);
+        }
+        // 带限定注解的集合较少见，不缓存
+        Candidates candidates = qualifiers.isEmpty() ? getCandidates(elementType) : Candidates.of(defs);
+        return type == List.class ? candidates.beans() : candidates.beansByName();
+    }
+
+    // 元素类型可以带泛型参数，例如 List<Repository<User>>
+    Type getElementType(BeanDefinition def, Type genericType, int index, String target) {
+        if(genericType instanceof ParameterizedType pt) {
+            Type[] args = pt.getActualTypeArguments();
+            if(index == 1 && args[0] != String.class)
+                throw new BeanCreationException(String.format("Map key of %s must be String for bean '%s':%s",
+                        target, def.getName(), def.getBeanClass().getName()));
+            Type arg = args[index];
+            if(arg instanceof WildcardType w)
+                arg = w.getUpperBounds()[0];
+            if(arg instanceof Class<?> || arg instanceof ParameterizedType)
+                return arg;
+        }
+        throw new BeanCreationException(String.format("Cannot resolve element type of %s for bean '%s':%s",
+                target, def.getName(), def.getBeanClass().getName()));
+    }
+
+    // 启动完成前实例可能被替换，每次重新收集；父容器中的 Bean 可能在运行期变化，子容器不缓存
+    Candidates getCandidates(Type type) {
+        if(!started || parent != null)
+            return Candidates.of(findBeanDefinitionsIncludingParent(type, List.of()));
+        return this.candidatesIndex.computeIfAbsent(type, t -> Candidates.of(findBeanDefinitions(t)));
+    }
+
+    record Candidates(List<Object> beans, Map<String, Object> beansByName) {
+        static Candidates of(List<BeanDefinition> defs) {
+            List<Object> beans = new ArrayList<>(defs.size());
+            Map<String, Object> byName = new LinkedHashMap<>();
+            for(BeanDefinition def : defs) {
+                beans.add(def.getRequiredInstance());
+                byName.put(def.getName(), def.getRequiredInstance());
+            }
+            return new Candidates(Collections.unmodifiableList(beans), Collections.unmodifiableMap(byName));
+        }
+    }
+
     void checkFieldOrMethod(Member m) {
         int mod = m.getModifiers();
         if(Modifier.isStatic(mod))
@@ -289,15 +944,14 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
     // Component Scan 操作
     protected Set<String> scanForClassNames(Class<?> configClass) {
-        // 获取注解中的 package，若没有则取配置类的 package
-        ComponentScan scan = ClassUtils.findAnnotation(configClass, ComponentScan.class);
-        String[] scanPackages = scan == null || scan.value().length == 0 ?
-                new String[] {configClass.getPackage().getName()} : scan.value();
+        String[] scanPackages = getScanPackages(configClass);
         logger.atInfo().log("component scan in packages: {}", Arrays.toString(scanPackages));
 
         Set<String> classNameSet = new HashSet<>();
         for(String pkg : scanPackages) {
             logger.atDebug().log("scan package: {}", pkg);
+            var event = new ComponentScanEvent();
+            event.begin();
             var rr = new ResourceResolver(pkg);
             List<String> classList = rr.scan(res -> {
                 String name = res.name();
@@ -308,9 +962,14 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 return null;
             });
             classNameSet.addAll(classList);
+            if(event.shouldCommit()) {
+                event.packageName = pkg;
+                event.classCount = classList.size();
+                event.commit();
+            }
         }
         // 查找 @Import 注解
-        Import importConfig = configClass.getAnnotation(Import.class);
+        Import importConfig = ClassUtils.findAnnotation(configClass, Import.class);
         if(importConfig != null) {
             for(Class<?> importClass : importConfig.value()) {
                 String importClassName = importClass.getName();
@@ -325,16 +984,29 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return classNameSet;
     }
 
-    // 根据扫描的 class 名称获得 BeanDefinition
+    // 获取注解中的 package，若没有则取配置类的 package
+    String[] getScanPackages(Class<?> configClass) {
+        ComponentScan scan = ClassUtils.findAnnotation(configClass, ComponentScan.class);
+        return scan == null || scan.value().length == 0 ?
+                new String[] {configClass.getPackage().getName()} : scan.value();
+    }
+
+    // 根据扫描的 class 名称获得 BeanDefinition，不满足 @Conditional 的类和 @Bean 方法不会被定义
     Map<String, BeanDefinition> createBeanDefinitions(Set<String> classNameSet) {
         Map<String, BeanDefinition> defs = new HashMap<>();
+        var conditionContext = new ConditionContext(this, defs);
+        // 依赖其他 BeanDefinition 的条件，在其余 BeanDefinition 创建完成后评估
+        List<DeferredDefinition> deferred = new ArrayList<>();
         for(String className : classNameSet) {
             Class<?> clazz = null;
+            long t = startupRecorder.start();
             try {
-                clazz = Class.forName(className);
+                // 只加载不初始化，未满足条件的类不会执行静态初始化
+                clazz = Class.forName(className, false, ClassPathUtils.getClassLoader());
             }catch (ClassNotFoundException e) {
                 throw new BeanCreationException(e);
             }
+            startupRecorder.accumulate("class-load", t);
             if (clazz.isAnnotation() || clazz.isEnum() || clazz.isInterface() || clazz.isRecord()) {
                 continue;
             }
@@ -349,23 +1021,51 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 if(Modifier.isPrivate(mod))
                     throw new BeanDefinitionException("@Component class " + clazz.getName() +
                             " must not be private.");
-
-                String beanName = ClassUtils.getBeanName(clazz);
-                var def = new BeanDefinition(beanName, clazz, getSuitableConstructor(clazz), getOrder(clazz),
-                        clazz.isAnnotationPresent(Primary.class), null, null,
-                        ClassUtils.findAnnotationMethod(clazz, PostConstruct.class),
-                        ClassUtils.findAnnotationMethod(clazz, PreDestroy.class));
-                addBeanDefinitions(defs, def);
-                logger.atDebug().log("define bean: {}", def);
-
-                Configuration configuration = ClassUtils.findAnnotation(clazz, Configuration.class);
-                if(configuration != null)
-                    scanFactoryMethods(beanName, clazz, defs);
+                Class<?> componentClass = clazz;
+                defineIfMatches(clazz, conditionContext, deferred, () -> defineComponent(componentClass, defs,
+                        conditionContext, deferred));
             }
         }
+        for(int i = 0; i < deferred.size(); i++) {
+            DeferredDefinition d = deferred.get(i);
+            if(conditionEvaluator.matches(d.element(), conditionContext, true))
+                d.define().run();
+            else
+                logger.atDebug().log("skip {} for unmatched conditions.", d.element());
+        }
         return defs;
     }
 
+    void defineIfMatches(AnnotatedElement element, ConditionContext conditionContext,
+                         List<DeferredDefinition> deferred, Runnable define) {
+        if(!conditionEvaluator.matches(element, conditionContext, false))
+            logger.atDebug().log("skip {} for unmatched conditions.", element);
+        else if(conditionEvaluator.isDeferred(element))
+            deferred.add(new DeferredDefinition(element, define));
+        else
+            define.run();
+    }
+
+    record DeferredDefinition(AnnotatedElement element, Runnable define) {}
+
+    void defineComponent(Class<?> clazz, Map<String, BeanDefinition> defs, ConditionContext conditionContext,
+                         List<DeferredDefinition> deferred) {
+        var event = new BeanDefinitionEvent();
+        event.begin();
+        String beanName = ClassUtils.getBeanName(clazz);
+        var def = new BeanDefinition(beanName, clazz, getSuitableConstructor(clazz), getOrder(clazz),
+                MergedAnnotations.from(clazz).isPresent(Primary.class), null, null,
+                ClassUtils.findAnnotationMethod(clazz, PostConstruct.class),
+                ClassUtils.findAnnotationMethod(clazz, PreDestroy.class));
+        addBeanDefinitions(defs, def);
+        commit(event, def);
+        logger.atDebug().log("define bean: {}", def);
+
+        Configuration configuration = ClassUtils.findAnnotation(clazz, Configuration.class);
+        if(configuration != null)
+            scanFactoryMethods(beanName, clazz, defs, conditionContext, deferred);
+    }
+
     Constructor<?> getSuitableConstructor(Class<?> clazz) {
         Constructor<?>[] cons = clazz.getConstructors();
         if(cons.length == 0) {
@@ -380,30 +1080,61 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return cons[0];
     }
 
-    void scanFactoryMethods(String factoryBeanName, Class<?> clazz, Map<String, BeanDefinition> defs) {
+    void scanFactoryMethods(String factoryBeanName, Class<?> clazz, Map<String, BeanDefinition> defs,
+                            ConditionContext conditionContext, List<DeferredDefinition> deferred) {
         for(Method method : clazz.getDeclaredMethods()) {
             Bean bean = method.getAnnotation(Bean.class);
-            if(bean != null) {
-                Class<?> beanClass = method.getReturnType();
-                var def = new BeanDefinition(ClassUtils.getBeanName(method), beanClass, factoryBeanName,
-                        method, getOrder(method), method.isAnnotationPresent(Primary.class),
-                        bean.initMethod().isEmpty() ? null : bean.initMethod(),
-                        bean.destroyMethod().isEmpty() ? null : bean.destroyMethod(),
-                        null, null);
-                addBeanDefinitions(defs, def);
-                logger.atDebug().log("define bean: {}", def);
-            }
+            if(bean != null)
+                defineIfMatches(method, conditionContext, deferred, () -> defineFactoryBean(factoryBeanName,
+                        method, bean, defs));
         }
     }
 
+    void defineFactoryBean(String factoryBeanName, Method method, Bean bean, Map<String, BeanDefinition> defs) {
+        var event = new BeanDefinitionEvent();
+        event.begin();
+        Class<?> beanClass = method.getReturnType();
+        var def = new BeanDefinition(ClassUtils.getBeanName(method), beanClass, factoryBeanName,
+                method, getOrder(method), method.isAnnotationPresent(Primary.class),
+                bean.initMethod().isEmpty() ? null : bean.initMethod(),
+                bean.destroyMethod().isEmpty() ? null : bean.destroyMethod(),
+                null, null);
+        addBeanDefinitions(defs, def);
+        commit(event, def);
+        logger.atDebug().log("define bean: {}", def);
+    }
+
     void addBeanDefinitions(Map<String, BeanDefinition> defs, BeanDefinition def) {
         if(defs.put(def.getName(), def) != null) {
             throw new BeanDefinitionException("Duplicate bean name: " + def.getName());
         }
+        if(defs == this.beans)
+            updateIndexes(def, true);
+    }
+
+    // 只更新与该 Bean 类型相关的索引项，不重建
+    void updateIndexes(BeanDefinition def, boolean added) {
+        Class<?> beanClass = def.getBeanClass();
+        this.typeIndex.replaceAll((type, defs) -> {
+            if(!type.isAssignableFrom(beanClass))
+                return defs;
+            List<BeanDefinition> list = new ArrayList<>(defs);
+            if(added) {
+                int pos = Collections.binarySearch(list, def);
+                list.add(pos < 0 ? -(pos + 1) : pos, def);
+            } else {
+                list.remove(def);
+            }
+            return Collections.unmodifiableList(list);
+        });
+        this.genericTypeIndex.keySet().removeIf(type -> TypeUtils.getRawClass(type).isAssignableFrom(beanClass));
+        this.qualifierIndex.keySet().removeIf(def.getQualifiers()::contains);
+        this.resolvedIndex.keySet().removeIf(type -> TypeUtils.getRawClass(type).isAssignableFrom(beanClass));
+        this.candidatesIndex.keySet().removeIf(type -> TypeUtils.getRawClass(type).isAssignableFrom(beanClass));
     }
 
     int getOrder(Class<?> clazz) {
-        Order order = clazz.getAnnotation(Order.class);
+        Order order = ClassUtils.findAnnotation(clazz, Order.class);
         return order == null ? Integer.MAX_VALUE : order.value();
     }
 
@@ -412,37 +1143,120 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return order == null ? Integer.MAX_VALUE : order.value();
     }
 
-    // 根据Type查找若干个BeanDefinition，返回0个或多个
+    // 根据Type查找若干个BeanDefinition，返回0个或多个，只查找当前容器
     public List<BeanDefinition> findBeanDefinitions(Class<?> type) {
-        return this.beans.values().stream()
-                .filter(def -> type.isAssignableFrom(def.getBeanClass()))
+        return this.typeIndex.computeIfAbsent(type, t -> this.beans.values().stream()
+                .filter(def -> t.isAssignableFrom(def.getBeanClass()))
                 .sorted()
-                .collect(Collectors.toList());
+                .toList());
+    }
+    // 带泛型参数的类型先按原始类型查找，再按解析出的泛型参数过滤，
+    // 泛型参数完全匹配的 Bean 优先，其次是泛型参数未能解析的 Bean
+    public List<BeanDefinition> findBeanDefinitions(Type type) {
+        if(type instanceof Class<?> clazz)
+            return findBeanDefinitions(clazz);
+        return this.genericTypeIndex.computeIfAbsent(type, t -> {
+            List<BeanDefinition> defs = findBeanDefinitions(TypeUtils.getRawClass(t));
+            List<BeanDefinition> exact = defs.stream()
+                    .filter(def -> TypeUtils.isAssignable(t, def.getBeanType(), true)).toList();
+            return !exact.isEmpty() ? exact : defs.stream()
+                    .filter(def -> TypeUtils.isAssignable(t, def.getBeanType(), false)).toList();
+        });
     }
+
     // 根据 type 查找某个 BeanDefinition，如果不存在返回null，如果存在多个返回@Primary标注的一个
     @Nullable
     public BeanDefinition findBeanDefinition(Class<?> type) {
+        return findBeanDefinition((Type) type);
+    }
+
+    @Nullable
+    public BeanDefinition findBeanDefinition(Type type) {
+        BeanDefinition resolved = this.resolvedIndex.get(type);
+        if(resolved != null)
+            return resolved;
         List<BeanDefinition> defs = findBeanDefinitions(type);
         if(defs.isEmpty())
-            return null;
-        else if(defs.size() == 1)
+            return parent == null ? null : parent.findBeanDefinition(type);
+        return cacheResolved(type, selectPrimary("type '" + type.getTypeName() + "'", defs));
+    }
+
+    // 多于一个时查找唯一的 @Primary，否则列出全部候选
+    BeanDefinition selectPrimary(String description, List<BeanDefinition> defs) {
+        if(defs.size() == 1)
             return defs.getFirst();
-        // 多于一个，查找 @Primary
         List<BeanDefinition> primaryDefs = defs.stream().filter(BeanDefinition::isPrimary).toList();
         if(primaryDefs.size() == 1)
             return primaryDefs.getFirst();
         if(primaryDefs.isEmpty()) {// 不存在 @Primary
-            throw new NoUniqueBeanDefinitionException(
-                    String.format("Multiple bean with type '%s' found, but no @Primary specified.",
-                            type.getName()));
+            throw new NoUniqueBeanDefinitionException(String.format(
+                    "Multiple bean with %s found, but no @Primary specified. Candidates: %s",
+                    description, describe(defs)));
         }else { // @Primary 不唯一
             throw new NoUniqueBeanDefinitionException(String.format(
-                    "Multiple bean with type '%s' found, and multiple @Primary specified.", type.getName()));
+                    "Multiple bean with %s found, and multiple @Primary specified. Candidates: %s",
+                    description, describe(primaryDefs)));
+        }
+    }
+
+    static String describe(List<BeanDefinition> defs) {
+        return defs.stream().map(def -> {
+            String q = def.getQualifiers().isEmpty() ? "" : " " + def.getQualifiers();
+            return def.getName() + " (" + def.getBeanClass().getName() + q + ")";
+        }).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    // 按类型及注入点上的全部限定注解查找，没有限定注解时等同于按类型查找
+    public List<BeanDefinition> findBeanDefinitions(Type type, List<Annotation> qualifiers) {
+        List<BeanDefinition> defs = findBeanDefinitions(type);
+        for(Annotation qualifier : qualifiers) {
+            Set<BeanDefinition> qualified = this.qualifierIndex.computeIfAbsent(qualifier, q -> {
+                Set<BeanDefinition> set = Collections.newSetFromMap(new IdentityHashMap<>());
+                this.beans.values().stream().filter(def -> def.getQualifiers().contains(q)).forEach(set::add);
+                return Collections.unmodifiableSet(set);
+            });
+            // 没有 Bean 声明 @Qualifier("xyz") 时按名称匹配
+            if(qualified.isEmpty() && qualifier instanceof Qualifier named && !named.value().isEmpty())
+                defs = defs.stream().filter(def -> def.getName().equals(named.value())).toList();
+            else
+                defs = defs.stream().filter(qualified::contains).toList();
+        }
+        return defs;
+    }
+
+    @Nullable
+    public BeanDefinition findBeanDefinition(Type type, List<Annotation> qualifiers) {
+        if(qualifiers.isEmpty())
+            return findBeanDefinition(type);
+        List<BeanDefinition> defs = findBeanDefinitions(type, qualifiers);
+        if(defs.isEmpty())
+            return parent == null ? null : parent.findBeanDefinition(type, qualifiers);
+        return selectPrimary("type '" + type.getTypeName() + "' and qualifiers " + qualifiers, defs);
+    }
+
+    public List<BeanDefinition> findBeanDefinitionsIncludingParent(Type type, List<Annotation> qualifiers) {
+        List<BeanDefinition> defs = findBeanDefinitions(type, qualifiers);
+        if(parent == null)
+            return defs;
+        List<BeanDefinition> all = new ArrayList<>(defs);
+        for(BeanDefinition def : parent.findBeanDefinitionsIncludingParent(type, qualifiers)) {
+            if(!this.beans.containsKey(def.getName()))
+                all.add(def);
         }
+        return all;
     }
+
+    BeanDefinition cacheResolved(Type type, BeanDefinition def) {
+        this.resolvedIndex.put(type, def);
+        return def;
+    }
+
     @Nullable
     public BeanDefinition findBeanDefinition(String name) {
-        return this.beans.get(name);
+        BeanDefinition def = this.beans.get(name);
+        if(def == null && parent != null)
+            return parent.findBeanDefinition(name);
+        return def;
     }
     @Nullable
     public BeanDefinition findBeanDefinition(String name, Class<?> requiredType) {
@@ -456,33 +1270,145 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     }
 
     boolean isConfigurationDefinition(BeanDefinition def) {
-        //return def.getBeanClass().getAnnotation(Configuration.class) != null;
-        return ClassUtils.findAnnotation(def.getBeanClass(), Configuration.class) != null;
+        // 启动过程中对每个 BeanDefinition 多次调用，直接查询缓存的注解模型
+        return MergedAnnotations.from(def.getBeanClass()).isPresent(Configuration.class);
     }
 
     boolean isBeanPostProcessorDefinition(BeanDefinition def) {
         return BeanPostProcessor.class.isAssignableFrom(def.getBeanClass());
     }
 
+    // 运行期注册已创建好的对象，不做注入、init 和 BeanPostProcessor 处理
+    @Override
+    public void registerSingleton(String name, Object singleton) {
+        Objects.requireNonNull(singleton, "Singleton is null.");
+        var def = new BeanDefinition(name, singleton.getClass(), () -> singleton, bean -> {},
+                Integer.MAX_VALUE, false, null, null);
+        synchronized (this) {
+            addBeanDefinitions(this.beans, def);
+            def.setInstance(singleton);
+        }
+    }
+
+    // 运行期注册由 Supplier 创建的 Bean，仍执行注入、@PostConstruct/@PreDestroy 和 BeanPostProcessor
+    @Override
+    public <T> void registerBean(String name, Class<T> beanClass, Supplier<T> supplier) {
+        Method init = ClassUtils.findAnnotationMethod(beanClass, PostConstruct.class);
+        Method destroy = ClassUtils.findAnnotationMethod(beanClass, PreDestroy.class);
+        registerBeanDefinitions(List.of(new BeanDefinition(name, beanClass, supplier, null, getOrder(beanClass),
+                MergedAnnotations.from(beanClass).isPresent(Primary.class), init == null ? null : init.getName(),
+                destroy == null ? null : destroy.getName())));
+    }
+
+    // 运行期注册 @Component 类，与扫描到的类相同处理，@Configuration 会同时注册其 @Bean
+    @Override
+    public void registerBean(Class<?> componentClass) {
+        Map<String, BeanDefinition> defs = createBeanDefinitions(Set.of(componentClass.getName()));
+        if(defs.isEmpty())
+            throw new BeanDefinitionException("Class " + componentClass.getName() + " is not a @Component.");
+        registerBeanDefinitions(defs.values().stream().sorted().toList());
+    }
+
+    // 函数式注册，不查找注解也不反射注入
+    @Override
+    public <T> void registerBean(Class<T> beanClass, Supplier<T> supplier, Consumer<BeanSpec<T>> customizer) {
+        registerBeanDefinitions(List.of(BeanSpec.define(beanClass, supplier, customizer)));
+    }
+
+    @Override
+    public void registerBeanDefinition(BeanDefinition def) {
+        registerBeanDefinitions(List.of(def));
+    }
+
+    synchronized void registerBeanDefinitions(List<BeanDefinition> defs) {
+        for(BeanDefinition def : defs) {
+            if(isBeanPostProcessorDefinition(def))
+                throw new BeanDefinitionException("Cannot register BeanPostProcessor '" + def.getName() +
+                        "' after context is started.");
+        }
+        List<BeanDefinition> added = new ArrayList<>();
+        try {
+            for(BeanDefinition def : defs) {
+                addBeanDefinitions(this.beans, def);
+                added.add(def);
+            }
+            // 先创建 @Configuration，再创建其他 Bean
+            defs.stream().filter(this::isConfigurationDefinition).forEach(this::createIfAbsent);
+            defs.forEach(this::createIfAbsent);
+            defs.forEach(this::injectBean);
+            defs.forEach(this::initBean);
+        }catch (RuntimeException e) {
+            added.forEach(this::unregister);
+            throw e;
+        }
+        logger.atDebug().log("registered beans at runtime: {}", defs.stream().map(BeanDefinition::getName).toList());
+    }
+
+    void createIfAbsent(BeanDefinition def) {
+        if(def.getInstance() == null)
+            createBeanAsEarlySingleton(def);
+    }
+
+    // 运行期移除 Bean，调用其 destroy 方法
+    @Override
+    public synchronized boolean removeBean(String name) {
+        BeanDefinition def = this.beans.get(name);
+        if(def == null)
+            return false;
+        if(isBeanPostProcessorDefinition(def))
+            throw new BeanDefinitionException("Cannot remove BeanPostProcessor '" + name + "'.");
+        List<String> dependents = this.beans.values().stream()
+                .filter(d -> d.getDependsOn().contains(name)).map(BeanDefinition::getName).sorted().toList();
+        if(!dependents.isEmpty())
+            logger.warn("Bean '{}' is removed but still referenced by: {}", name, dependents);
+        try {
+            if(def.getInstance() != null)
+                destroyBean(def, new HashMap<>());
+        } finally {
+            unregister(def);
+        }
+        return true;
+    }
+
+    void unregister(BeanDefinition def) {
+        if(this.beans.remove(def.getName(), def)) {
+            this.creatingBeanNames.remove(def.getName());
+            updateIndexes(def, false);
+        }
+    }
+
     @Override
     public boolean containsBean(String name) {
-        return this.beans.containsKey(name);
+        return this.beans.containsKey(name) || (parent != null && parent.containsBean(name));
+    }
+
+    @Nullable
+    @Override
+    public ConfigurableApplicationContext getParent() {
+        return parent;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getBean(String name) {
-        BeanDefinition def = this.beans.get(name);
+        var event = new GetBeanEvent();
+        event.begin();
+        BeanDefinition def = findBeanDefinition(name);
         if(def == null)
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'", name));
+        commit(event, def);
         return (T) def.getInstance();
     }
 
     @SuppressWarnings("unchecked")
     public <T> T getBean(Class<T> type) {
+        var event = new GetBeanEvent();
+        event.begin();
         BeanDefinition def = findBeanDefinition(type);
         if(def == null)
             throw new NoSuchBeanDefinitionException(String.format("No bean defined with type %s.",
                     type.getName()));
+        event.requiredType = type;
+        commit(event, def);
         return (T) def.getRequiredInstance();
     }
     public <T> T getBean(String name, Class<T> requiredType) {
@@ -494,13 +1420,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     }
     @SuppressWarnings("unchecked")
     public <T> List<T> getBeans(Class<T> requiredType) {
-        List<BeanDefinition> defs = findBeanDefinitions(requiredType);
-        if(defs.isEmpty())
-            return null;
-        List<T> list = new ArrayList<>(defs.size());
-        for(var def : defs)
-            list.add((T)def.getRequiredInstance());
-        return list;
+        return (List<T>) getCandidates(requiredType).beans();
     }
 
     // findxxx 与 getxxx 类似，但不存在会返回 null
@@ -518,54 +1438,212 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             return null;
         return (T) def.getRequiredInstance();
     }
-    @SuppressWarnings("unchecked")
     protected <T> List<T> findBeans(Class<T> requiredType) {
-        return findBeanDefinitions(requiredType).stream()
-                .map(def -> (T)def.getRequiredInstance())
-                .toList();
+        return getBeans(requiredType);
     }
 
     // 调用 init/destroy 方法
-    private void callMethod(Object bean, Method method, String namedMethod) {
-        if(method != null) {
-            try {
-                method.invoke(bean);
-            }catch (ReflectiveOperationException e) {
-                throw new BeanCreationException(e);
-            }
-        } else if(namedMethod != null) {
-            // 查找 ’initMethod/destroyMethod="xyz"‘，注意是在实际类型中查找
-            Method named = ClassUtils.getNamedMethod(bean.getClass(), namedMethod);
-            named.setAccessible(true);
-            try {
-                named.invoke(bean);
-            }catch (ReflectiveOperationException e) {
-                throw new BeanCreationException(e);
-            }
+    private Object callMethod(Object bean, Method method, String namedMethod) {
+        Method m = resolveMethod(bean, method, namedMethod);
+        return m == null ? null : invokeMethod(bean, m);
+    }
+
+    @Nullable
+    Method resolveMethod(Object bean, Method method, String namedMethod) {
+        if(method != null)
+            return method;
+        if(namedMethod == null)
+            return null;
+        // 查找 ’initMethod/destroyMethod="xyz"‘，注意是在实际类型中查找
+        Method named = ClassUtils.getNamedMethod(bean.getClass(), namedMethod);
+        named.setAccessible(true);
+        return named;
+    }
+
+    Object invokeMethod(Object bean, Method m) {
+        try {
+            return m.invoke(bean);
+        }catch (ReflectiveOperationException e) {
+            throw new BeanCreationException(e);
+        }
+    }
+
+    // JFR 未录制或未超过阈值时 shouldCommit() 为 false，不会填充字段
+    void commit(BeanEvent event, BeanDefinition def) {
+        if(event.shouldCommit()) {
+            event.beanName = def.getName();
+            event.beanClass = def.getBeanClass();
+            event.commit();
         }
     }
 
     Object getProxiedInstance(BeanDefinition def) {
         Object beanInstance = def.getInstance();
-        List<BeanPostProcessor> reversedPostProcessors = new ArrayList<>(this.beanPostProcessors);
-        Collections.reverse(reversedPostProcessors);
-        for(BeanPostProcessor processor : reversedPostProcessors) {
-            Object getProxied = processor.postProcessOnSetProperty(beanInstance, def.getName());
+        // 逆序遍历，不再复制处理器列表
+        List<BeanPostProcessor> processors = getBeanPostProcessors(def);
+        for(int i = processors.size() - 1; i >= 0; i--) {
+            Object getProxied = processors.get(i).postProcessOnSetProperty(beanInstance, def.getName());
             if(getProxied != beanInstance)
                 beanInstance = getProxied;
         }
         return beanInstance;
     }
 
+    void addBeanPostProcessors(List<BeanPostProcessor> processors) {
+        List<BeanPostProcessor> all = new ArrayList<>(this.beanPostProcessors);
+        all.addAll(processors);
+        this.beanPostProcessors = List.copyOf(all);
+    }
+
+    // 适用于该 Bean 的处理器链，每个 BeanDefinition 只过滤一次
+    List<BeanPostProcessor> getBeanPostProcessors(BeanDefinition def) {
+        List<BeanPostProcessor> all = this.beanPostProcessors;
+        BeanDefinition.ProcessorChain chain = def.getProcessorChain();
+        if(chain == null || chain.source() != all) {
+            chain = new BeanDefinition.ProcessorChain(all, all.stream().filter(p -> p.supports(def)).toList());
+            def.setProcessorChain(chain);
+        }
+        return chain.processors();
+    }
+
+    // 按依赖关系逆序销毁：依赖某 Bean 的所有 Bean 销毁后才销毁它，互不依赖的 Bean 并发销毁
+    void destroyBeans() {
+        Duration timeout = propertyResolver.getProperty(SHUTDOWN_TIMEOUT_KEY, Duration.class);
+        Duration beanTimeout = propertyResolver.getProperty(SHUTDOWN_BEAN_TIMEOUT_KEY, Duration.class);
+        // 被依赖的 Bean -> 依赖它的 Bean
+        Map<String, List<String>> dependents = new HashMap<>();
+        this.beans.values().forEach(def -> def.getDependsOn().forEach(dep ->
+                dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(def.getName())));
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        DestroyProgress progress = new DestroyProgress();
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for(BeanDefinition def : this.beans.values())
+                destroyFuture(def, dependents, futures, new HashSet<>(), executor, beanTimeout, progress);
+            var all = CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new));
+            if(timeout == null)
+                all.join();
+            else
+                all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }catch (TimeoutException e) {
+            // 尚未开始的 destroy 不再执行，正在执行的无法中止
+            Set<String> started = progress.abandon();
+            Map<Boolean, List<String>> pending = futures.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isDone()).map(Map.Entry::getKey).sorted()
+                    .collect(Collectors.partitioningBy(started::contains));
+            logger.warn("Shutdown timed out after {}, beans still destroying: {}, skipped: {}", timeout,
+                    pending.get(true), pending.get(false));
+        }catch (InterruptedException e) {
+            progress.abandon();
+            Thread.currentThread().interrupt();
+        }catch (ExecutionException e) {
+            // 每个 future 都已处理异常，不会出现
+            throw new BeanCreationException(e.getCause());
+        } finally {
+            // 不等待超时仍未结束的 destroy
+            executor.shutdown();
+        }
+        logger.info("Destroyed {} beans in {} ms. [{}]", progress.timings.size(),
+                (System.nanoTime() - start) / 1_000_000, progress.timings.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed()).limit(5)
+                        .map(entry -> entry.getKey() + "=" + entry.getValue() / 1_000_000 + "ms")
+                        .collect(Collectors.joining(", ")));
+    }
+
+    // 一次关闭的进度：整体超时后放弃，尚未开始的 destroy 在 close 返回后也不再执行
+    static final class DestroyProgress {
+        final Map<String, Long> timings = new ConcurrentHashMap<>();
+        private final Set<String> started = new HashSet<>();
+        private boolean abandoned;
+
+        synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        synchronized boolean start(String name) {
+            if(abandoned)
+                return false;
+            started.add(name);
+            return true;
+        }
+
+        // 返回已经开始的 Bean
+        synchronized Set<String> abandon() {
+            abandoned = true;
+            return new HashSet<>(started);
+        }
+    }
+
+    CompletableFuture<Void> destroyFuture(BeanDefinition def, Map<String, List<String>> dependents,
+                                          Map<String, CompletableFuture<Void>> futures, Set<String> visiting,
+                                          ExecutorService executor, Duration beanTimeout, DestroyProgress progress) {
+        CompletableFuture<Void> future = futures.get(def.getName());
+        if(future != null)
+            return future;
+        visiting.add(def.getName());
+        List<CompletableFuture<Void>> deps = new ArrayList<>();
+        for(String name : dependents.getOrDefault(def.getName(), List.of())) {
+            BeanDefinition dependent = this.beans.get(name);
+            // 字段注入允许循环依赖，忽略回边
+            if(dependent != null && !visiting.contains(name))
+                deps.add(destroyFuture(dependent, dependents, futures, visiting, executor, beanTimeout, progress));
+        }
+        visiting.remove(def.getName());
+        boolean hasDestroyMethod = def.getDestroyCallback() != null || def.getDestroyMethod() != null
+                || def.getDestroyMethodName() != null || def.getScope() != null;
+        future = CompletableFuture.allOf(deps.toArray(CompletableFuture[]::new)).thenCompose(v -> {
+            // 超时后才就绪的 Bean 不再提交，执行器此时已经关闭
+            if(!hasDestroyMethod || progress.isAbandoned())
+                return CompletableFuture.completedFuture(null);
+            var task = CompletableFuture.runAsync(() -> {
+                if(progress.start(def.getName()))
+                    destroyBean(def, progress.timings);
+            }, executor);
+            return beanTimeout == null ? task : task.orTimeout(beanTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }).handle((v, e) -> {
+            // 单个 Bean 失败或超时不影响其他 Bean 的销毁
+            if(e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if(cause instanceof TimeoutException)
+                    logger.warn("Destroy method of bean '{}' timed out after {}.", def.getName(), beanTimeout);
+                else
+                    logger.error("Destroy method of bean '{}' failed.", def.getName(), cause);
+            }
+            return null;
+        });
+        futures.put(def.getName(), future);
+        return future;
+    }
+
+    void destroyBean(BeanDefinition def, Map<String, Long> timings) {
+        long start = System.nanoTime();
+        var event = new BeanDestroyEvent();
+        event.begin();
+        Object beanInstance = getProxiedInstance(def);
+        if(def.getScope() != null)
+            def.getScope().close();
+        else if(def.getDestroyCallback() != null)
+            def.getDestroyCallback().accept(beanInstance);
+        else
+            callMethod(beanInstance, def.getDestroyMethod(), def.getDestroyMethodName());
+        commit(event, def);
+        timings.put(def.getName(), System.nanoTime() - start);
+    }
+
     @Override
     public void close() {
         logger.info("Closing {}...", this.getClass().getName());
-        this.beans.values().forEach(def -> {
-            Object beanInstance = getProxiedInstance(def);
-            callMethod(beanInstance, def.getDestroyMethod(), def.getDestroyMethodName());
-        });
+        destroyBeans();
         this.beans.clear();
+        this.typeIndex.clear();
+        this.genericTypeIndex.clear();
+        this.qualifierIndex.clear();
+        this.resolvedIndex.clear();
+        this.candidatesIndex.clear();
+        this.expressions.clear();
         logger.info("{} closed.", this.getClass().getName());
-        ApplicationContextUtils.setApplicationContext(null);
+        if(ApplicationContextUtils.getApplicationContext() == this)
+            ApplicationContextUtils.setApplicationContext(null);
     }
 }
@@ -0,0 +1,69 @@
+package com.learn.summer.context;
+
+import com.learn.summer.exception.NoSuchBeanDefinitionException;
+
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 生成代码及函数式注册通过此类注册 BeanDefinition 并获取依赖
+public class AotBeanRegistry {
+    private final AnnotationConfigApplicationContext context;
+
+    AotBeanRegistry(AnnotationConfigApplicationContext context) {
+        this.context = context;
+    }
+
+    // 直接调用构造方法或工厂方法创建的 Bean
+    public void register(String name, Class<?> beanClass, int order, boolean primary,
+                         String initMethodName, String destroyMethodName,
+                         Supplier<?> instanceSupplier, Consumer<Object> injector) {
+        var def = new BeanDefinition(name, beanClass, instanceSupplier, injector, order, primary,
+                initMethodName, destroyMethodName);
+        context.addBeanDefinitions(context.beans, def);
+    }
+
+    // 函数式注册，Supplier 中通过 getBean 获取依赖
+    public <T> void registerBean(Class<T> beanClass, Supplier<? extends T> supplier) {
+        registerBean(beanClass, supplier, null);
+    }
+
+    public <T> void registerBean(Class<T> beanClass, Supplier<? extends T> supplier,
+                                 Consumer<BeanSpec<T>> customizer) {
+        context.addBeanDefinitions(context.beans, BeanSpec.define(beanClass, supplier, customizer));
+    }
+
+    // 无法在生成代码中直接访问的类（非 public 类、构造方法、字段等），按扫描方式反射创建 BeanDefinition
+    public void registerClass(String className) {
+        context.createBeanDefinitions(Set.of(className)).values()
+                .forEach(def -> context.addBeanDefinitions(context.beans, def));
+    }
+
+    // 依赖尚未创建时立即创建
+    @SuppressWarnings("unchecked")
+    public <T> T getBean(String name) {
+        BeanDefinition def = context.findBeanDefinition(name);
+        if(def == null)
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with name '%s'", name));
+        context.recordDependency(name);
+        Object instance = def.getInstance();
+        if(instance == null)
+            instance = context.createBeanAsEarlySingleton(def);
+        return (T) instance;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        BeanDefinition def = context.findBeanDefinition(type);
+        if(def == null)
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'", type.getName()));
+        return getBean(def.getName());
+    }
+
+    public <T> T getProperty(String key, Class<T> type) {
+        return context.resolveValue(key, type, false);
+    }
+
+    public <T> T getRequiredProperty(String key, Class<T> type) {
+        return context.resolveValue(key, type, true);
+    }
+}
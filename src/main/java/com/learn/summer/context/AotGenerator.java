@@ -0,0 +1,309 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Value;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.exception.UnsatisfiedDependencyException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.utils.ClassPathUtils;
+import com.learn.summer.utils.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// 构建期扫描并解析所有 Bean，生成直接调用构造方法/工厂方法并赋值字段的 Java 源码，
+// 用法: java com.learn.summer.context.AotGenerator <configClass> <outputDir> [application.properties]，
+// 条件按生成时的配置评估，运行期设置 summer.aot.enabled=true 后使用
+public class AotGenerator {
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Class<?> configClass;
+    private final AnnotationConfigApplicationContext context;
+    // 需要在运行期按类名反射创建的 @Configuration，其 @Bean 方法也随之反射创建
+    private final Set<String> reflectiveConfigurations = new HashSet<>();
+
+    public AotGenerator(Class<?> configClass, PropertyResolver resolver) {
+        this.configClass = configClass;
+        this.context = new AnnotationConfigApplicationContext(configClass, resolver, null, true);
+    }
+
+    public String getClassName() {
+        return BeanFactoryInitializer.getInitializerClassName(configClass);
+    }
+
+    public Path writeTo(Path outputDir) {
+        Path file = outputDir.resolve(getClassName().replace('.', '/') + ".java");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, generate(), StandardCharsets.UTF_8);
+        }catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("generated bean factory {}", file);
+        return file;
+    }
+
+    public String generate() {
+        // 运行期使用生成类时不再校验，在构建期校验
+        context.validateDefinitions();
+        List<BeanDefinition> defs = context.beans.values().stream()
+                .sorted(Comparator.comparing(BeanDefinition::getName)).toList();
+        for(BeanDefinition def : defs) {
+            if(context.isConfigurationDefinition(def) && !isConfigurationAccessible(def))
+                reflectiveConfigurations.add(def.getName());
+        }
+        List<String> methods = new ArrayList<>();
+        for(BeanDefinition def : defs) {
+            String body;
+            if(def.getFactoryName() != null) {
+                // 随 @Configuration 一起反射创建
+                if(reflectiveConfigurations.contains(def.getFactoryName()))
+                    continue;
+                body = registerFactoryBean(def);
+            } else if(reflectiveConfigurations.contains(def.getName()) || !isComponentAccessible(def)) {
+                body = "registry.registerClass(" + literal(def.getBeanClass().getName()) + ");";
+            } else {
+                body = registerComponent(def);
+            }
+            methods.add(body);
+        }
+
+        String pkg = configClass.getPackageName();
+        String simpleName = getClassName().substring(pkg.isEmpty() ? 0 : pkg.length() + 1);
+        StringBuilder sb = new StringBuilder();
+        if(!pkg.isEmpty())
+            sb.append("package ").append(pkg).append(";\n\n");
+        sb.append("import com.learn.summer.context.AotBeanRegistry;\n")
+                .append("import com.learn.summer.context.BeanFactoryInitializer;\n\n")
+                .append("// Generated by ").append(getClass().getName()).append(" from ")
+                .append(configClass.getName()).append(", do not edit.\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public class ").append(simpleName).append(" implements BeanFactoryInitializer {\n")
+                .append("    @Override\n")
+                .append("    public void initialize(AotBeanRegistry registry) {\n");
+        for(int i = 0; i < methods.size(); i++)
+            sb.append("        bean").append(i).append("(registry);\n");
+        sb.append("    }\n");
+        // 每个 Bean 一个方法，避免单个方法超过字节码长度限制
+        for(int i = 0; i < methods.size(); i++) {
+            sb.append("\n    private void bean").append(i).append("(AotBeanRegistry registry) {\n        ")
+                    .append(methods.get(i)).append("\n    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    String registerComponent(BeanDefinition def) {
+        Constructor<?> cons = def.getConstructor();
+        String supplier = "() -> new " + typeName(def.getBeanClass()) + "(" +
+                arguments(def, cons.getParameters()) + ")";
+        return register(def, def.getInitMethod() == null ? def.getInitMethodName() : def.getInitMethod().getName(),
+                def.getDestroyMethod() == null ? def.getDestroyMethodName() : def.getDestroyMethod().getName(),
+                supplier);
+    }
+
+    String registerFactoryBean(BeanDefinition def) {
+        Method method = def.getFactoryMethod();
+        BeanDefinition factoryDef = context.findBeanDefinition(def.getFactoryName());
+        String supplier = "() -> registry.<" + typeName(factoryDef.getBeanClass()) + ">getBean(" +
+                literal(def.getFactoryName()) + ")." + method.getName() + "(" +
+                arguments(def, method.getParameters()) + ")";
+        return register(def, def.getInitMethodName(), def.getDestroyMethodName(), supplier);
+    }
+
+    String register(BeanDefinition def, String initMethod, String destroyMethod, String supplier) {
+        return "registry.register(" + literal(def.getName()) + ", " + typeName(def.getBeanClass()) + ".class, " +
+                def.getOrder() + ", " + def.isPrimary() + ", " + literal(initMethod) + ", " +
+                literal(destroyMethod) + ",\n                " + supplier + ",\n                " +
+                injector(def) + ");";
+    }
+
+    String arguments(BeanDefinition def, Parameter[] parameters) {
+        StringJoiner args = new StringJoiner(", ");
+        for(Parameter param : parameters) {
+            Value value = param.getAnnotation(Value.class);
+            if(value != null) {
+                args.add("registry.getRequiredProperty(" + literal(value.value()) + ", " +
+                        typeName(param.getType()) + ".class)");
+            } else {
+                args.add(dependency(def, param.getAnnotation(Autowired.class), param.getType(),
+                        param.getParameterizedType(), ClassUtils.getQualifiers(param.getAnnotations()),
+                        param.getName()));
+            }
+        }
+        return args.toString();
+    }
+
+    // 构建期即确定依赖的 Bean 名称
+    String dependency(BeanDefinition def, Autowired autowired, Class<?> type, Type genericType,
+                      List<Annotation> qualifiers, String target) {
+        String name = autowired.name();
+        BeanDefinition dependsOn = name.isEmpty() ? context.findBeanDefinition(genericType, qualifiers)
+                : context.findBeanDefinition(name, type);
+        if(dependsOn == null) {
+            if(autowired.value())
+                throw new UnsatisfiedDependencyException(String.format("Dependency bean not found when " +
+                        "inject %s for bean '%s':%s", target, def.getName(), def.getBeanClass().getName()));
+            return "null";
+        }
+        return "registry.<" + typeName(type) + ">getBean(" + literal(dependsOn.getName()) + ")";
+    }
+
+    String injector(BeanDefinition def) {
+        List<String> statements = new ArrayList<>();
+        String bean = "((" + typeName(def.getBeanClass()) + ") bean)";
+        for(Class<?> clazz = def.getBeanClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for(Field f : clazz.getDeclaredFields()) {
+                String expr = injectExpression(def, f, f.getType(), f.getGenericType(),
+                        ClassUtils.getQualifiers(f.getAnnotations()), f.getName());
+                if(expr != null)
+                    statements.add(bean + "." + f.getName() + " = " + expr + ";");
+            }
+            for(Method m : clazz.getDeclaredMethods()) {
+                if(m.getParameterCount() == 1) {
+                    String expr = injectExpression(def, m, m.getParameterTypes()[0],
+                            m.getGenericParameterTypes()[0],
+                            ClassUtils.getQualifiers(m.getAnnotations(), m.getParameterAnnotations()[0]), m.getName());
+                    if(expr != null)
+                        statements.add(bean + "." + m.getName() + "(" + expr + ");");
+                }
+            }
+        }
+        if(statements.isEmpty())
+            return "bean -> {}";
+        return "bean -> {\n                    " + String.join("\n                    ", statements) +
+                "\n                }";
+    }
+
+    String injectExpression(BeanDefinition def, AccessibleObject acc, Class<?> type, Type genericType,
+                            List<Annotation> qualifiers, String name) {
+        Value value = acc.getAnnotation(Value.class);
+        Autowired autowired = acc.getAnnotation(Autowired.class);
+        if(value != null)
+            return "registry.getProperty(" + literal(value.value()) + ", " + typeName(type) + ".class)";
+        if(autowired != null)
+            return dependency(def, autowired, type, genericType, qualifiers, name);
+        return null;
+    }
+
+    boolean isConfigurationAccessible(BeanDefinition def) {
+        if(!isComponentAccessible(def))
+            return false;
+        return context.beans.values().stream()
+                .filter(d -> def.getName().equals(d.getFactoryName()))
+                // @Bean 方法上的限定注解无法从返回类型读取，需要反射创建
+                .allMatch(d -> Modifier.isPublic(d.getFactoryMethod().getModifiers())
+                        && ClassUtils.getQualifiers(d.getFactoryMethod().getAnnotations()).isEmpty()
+                        && isAccessible(d.getBeanClass())
+                        && areParametersAccessible(d.getFactoryMethod())
+                        && areInjectionPointsAccessible(d.getBeanClass()));
+    }
+
+    boolean isComponentAccessible(BeanDefinition def) {
+        Class<?> clazz = def.getBeanClass();
+        Constructor<?> cons = def.getConstructor();
+        return isAccessible(clazz)
+                && (clazz.getEnclosingClass() == null || Modifier.isStatic(clazz.getModifiers()))
+                && Modifier.isPublic(cons.getModifiers())
+                && areParametersAccessible(cons)
+                && areInjectionPointsAccessible(clazz);
+    }
+
+    boolean areParametersAccessible(Executable executable) {
+        for(Parameter param : executable.getParameters()) {
+            boolean isValue = param.isAnnotationPresent(Value.class);
+            boolean isAutowired = param.isAnnotationPresent(Autowired.class);
+            // 参数注解不合法时交给运行期按原逻辑报错，List/Map 等注入点也交给运行期解析
+            if(isValue == isAutowired || !isAccessible(param.getType())
+                    || context.isContainerInjection(param.getType()))
+                return false;
+        }
+        return true;
+    }
+
+    boolean areInjectionPointsAccessible(Class<?> beanClass) {
+        for(Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for(Field f : clazz.getDeclaredFields()) {
+                if(isInjectionPoint(f)) {
+                    int mod = f.getModifiers();
+                    if(!Modifier.isPublic(mod) || Modifier.isStatic(mod) || Modifier.isFinal(mod)
+                            || !isAccessible(f.getType()) || context.isContainerInjection(f.getType()))
+                        return false;
+                }
+            }
+            for(Method m : clazz.getDeclaredMethods()) {
+                if(isInjectionPoint(m)) {
+                    int mod = m.getModifiers();
+                    if(!Modifier.isPublic(mod) || Modifier.isStatic(mod) || m.getParameterCount() != 1
+                            || !isAccessible(m.getParameterTypes()[0])
+                            || context.isContainerInjection(m.getParameterTypes()[0]))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static boolean isInjectionPoint(AnnotatedElement element) {
+        boolean isValue = element.isAnnotationPresent(Value.class);
+        boolean isAutowired = element.isAnnotationPresent(Autowired.class);
+        if(isValue && isAutowired)
+            throw new BeanCreationException("Cannot specify both @Autowired and @Value on " + element);
+        return isValue || isAutowired;
+    }
+
+    static boolean isAccessible(Class<?> clazz) {
+        if(clazz.isPrimitive())
+            return true;
+        if(clazz.isArray())
+            return isAccessible(clazz.getComponentType());
+        if(!Modifier.isPublic(clazz.getModifiers()) || clazz.getCanonicalName() == null)
+            return false;
+        return clazz.getEnclosingClass() == null || isAccessible(clazz.getEnclosingClass());
+    }
+
+    static String typeName(Class<?> clazz) {
+        return clazz.getCanonicalName();
+    }
+
+    static String literal(String s) {
+        if(s == null)
+            return "null";
+        StringBuilder sb = new StringBuilder("\"");
+        for(char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2) {
+            System.err.println("Usage: AotGenerator <configClass> <outputDir> [properties]");
+            System.exit(1);
+        }
+        Properties props = new Properties();
+        if(args.length > 2) {
+            ClassPathUtils.readInputStream(args[2], input -> {
+                props.load(input);
+                return null;
+            });
+        }
+        var generator = new AotGenerator(Class.forName(args[0]), new PropertyResolver(props));
+        generator.writeTo(Path.of(args[1]));
+    }
+}
@@ -1,12 +1,25 @@
 package com.learn.summer.context;
 
+import com.learn.summer.annotation.Scope;
 import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.exception.BeanDefinitionException;
+import com.learn.summer.scope.BeanScope;
+import com.learn.summer.utils.ClassUtils;
 import jakarta.annotation.Nullable;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class BeanDefinition implements Comparable<BeanDefinition>{
@@ -32,6 +45,30 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
 
     private Method initMethod;
     private Method destroyMethod;
+    // 函数式注册时直接给出的 init/destroy 逻辑，存在时不再查找方法
+    private Consumer<Object> initCallback;
+    private Consumer<Object> destroyCallback;
+
+    // 由生成代码提供的实例创建及注入逻辑，存在时不再反射调用构造方法和注入
+    private final Supplier<?> instanceSupplier;
+    private final Consumer<Object> injector;
+
+    // Bean 上声明的限定注解，首次按限定注解查找时从类或 @Bean 方法读取
+    private volatile Set<Annotation> qualifiers;
+
+    // 过滤后适用于该 Bean 的 BeanPostProcessor 链，容器的处理器列表变化后重新计算
+    private volatile ProcessorChain processorChain;
+
+    // 作用域注解（以 @Scope 为元注解），null 表示单例，首次访问时从类或 @Bean 方法读取
+    private volatile Annotation scopeAnnotation;
+    private volatile boolean scopeResolved;
+    // 作用域 Bean 的实例管理，容器中的 instance 是它提供的代理
+    private volatile BeanScope scope;
+    // 由作用域创建的单个实例所用的副本，不登记到容器
+    private final boolean scopedInstance;
+
+    // 依赖的 Bean 名称，在创建和注入时记录；作用域实例在运行期并发创建时也会写入
+    private final Set<String> dependsOn = Collections.synchronizedSet(new LinkedHashSet<>());
     // 通过构造器创建 @Component标识
     public BeanDefinition(String name, Class<?> beanClass, Constructor<?> constructor, int order, boolean primary,
                           String initMethodName, String destroyMethodName, Method initMethod, Method destroyMethod) {
@@ -42,6 +79,9 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         this.factoryMethod = null;
         this.order = order;
         this.primary = primary;
+        this.instanceSupplier = null;
+        this.injector = null;
+        this.scopedInstance = false;
         constructor.setAccessible(true);
         setInitAndDestroyMethod(initMethodName, destroyMethodName, initMethod, destroyMethod);
     }
@@ -56,9 +96,49 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         this.factoryMethod = factoryMethod;
         this.order = order;
         this.primary = primary;
+        this.instanceSupplier = null;
+        this.injector = null;
+        this.scopedInstance = false;
         factoryMethod.setAccessible(true);
         setInitAndDestroyMethod(initMethodName, destroyMethodName, initMethod, destroyMethod);
     }
+    // 由 Supplier 创建，injector 为 null 时仍通过反射注入
+    public BeanDefinition(String name, Class<?> beanClass, Supplier<?> instanceSupplier, Consumer<Object> injector,
+                          int order, boolean primary, String initMethodName, String destroyMethodName) {
+        this.name = name;
+        this.beanClass = beanClass;
+        this.constructor = null;
+        this.factoryName = null;
+        this.factoryMethod = null;
+        this.order = order;
+        this.primary = primary;
+        this.instanceSupplier = Objects.requireNonNull(instanceSupplier, "Instance supplier is null.");
+        this.injector = injector;
+        this.scopedInstance = false;
+        setInitAndDestroyMethod(initMethodName, destroyMethodName, null, null);
+    }
+    // 复制创建方式和生命周期方法，实例、依赖和处理器链各自独立
+    private BeanDefinition(BeanDefinition source) {
+        this.name = source.name;
+        this.beanClass = source.beanClass;
+        this.constructor = source.constructor;
+        this.factoryName = source.factoryName;
+        this.factoryMethod = source.factoryMethod;
+        this.order = source.order;
+        this.primary = source.primary;
+        this.instanceSupplier = source.instanceSupplier;
+        this.injector = source.injector;
+        this.scopedInstance = true;
+        this.scopeAnnotation = source.getScopeAnnotation();
+        this.scopeResolved = true;
+        setInitAndDestroyMethod(source.initMethodName, source.destroyMethodName,
+                source.initMethod, source.destroyMethod);
+        setInitAndDestroyCallback(source.initCallback, source.destroyCallback);
+    }
+
+    BeanDefinition newScopedInstance() {
+        return new BeanDefinition(this);
+    }
 
     public void setInitAndDestroyMethod(String initMethodName, String destroyMethodName,
                                         Method initMethod, Method destroyMethod) {
@@ -73,6 +153,11 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         this.destroyMethod = destroyMethod;
     }
 
+    public void setInitAndDestroyCallback(Consumer<Object> initCallback, Consumer<Object> destroyCallback) {
+        this.initCallback = initCallback;
+        this.destroyCallback = destroyCallback;
+    }
+
     public String getName() {
         return name;
     }
@@ -81,6 +166,11 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         return beanClass;
     }
 
+    // 用于泛型匹配的类型，@Bean 方法取带泛型参数的返回类型
+    public Type getBeanType() {
+        return factoryMethod != null ? factoryMethod.getGenericReturnType() : beanClass;
+    }
+
     @Nullable
     public Constructor<?> getConstructor() {
         return constructor;
@@ -96,6 +186,91 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         return factoryMethod;
     }
 
+    @Nullable
+    public Supplier<?> getInstanceSupplier() {
+        return instanceSupplier;
+    }
+
+    @Nullable
+    public Consumer<Object> getInjector() {
+        return injector;
+    }
+
+    public Set<Annotation> getQualifiers() {
+        Set<Annotation> q = this.qualifiers;
+        if(q == null) {
+            q = Set.copyOf(ClassUtils.getQualifiers(factoryMethod != null
+                    ? factoryMethod.getAnnotations() : beanClass.getAnnotations()));
+            this.qualifiers = q;
+        }
+        return q;
+    }
+
+    @Nullable
+    public Annotation getScopeAnnotation() {
+        if(!scopeResolved) {
+            this.scopeAnnotation = findScopeAnnotation(factoryMethod != null
+                    ? factoryMethod.getAnnotations() : beanClass.getAnnotations());
+            this.scopeResolved = true;
+        }
+        return scopeAnnotation;
+    }
+
+    @Nullable
+    Annotation findScopeAnnotation(Annotation[] annotations) {
+        Annotation found = null;
+        for(Annotation anno : annotations) {
+            if(anno.annotationType().isAnnotationPresent(Scope.class)) {
+                if(found != null)
+                    throw new BeanDefinitionException(String.format("Bean '%s' declares both @%s and @%s.", name,
+                            found.annotationType().getSimpleName(), anno.annotationType().getSimpleName()));
+                found = anno;
+            }
+        }
+        return found;
+    }
+
+    public boolean isSingleton() {
+        return getScopeAnnotation() == null;
+    }
+
+    @Nullable
+    public BeanScope getScope() {
+        return scope;
+    }
+
+    void setScope(BeanScope scope) {
+        this.scope = scope;
+    }
+
+    public boolean isScopedInstance() {
+        return scopedInstance;
+    }
+
+    @Nullable
+    ProcessorChain getProcessorChain() {
+        return processorChain;
+    }
+
+    void setProcessorChain(ProcessorChain processorChain) {
+        this.processorChain = processorChain;
+    }
+
+    // source 为计算时容器的全部处理器（不可变列表），按引用比较判断是否过期
+    record ProcessorChain(List<BeanPostProcessor> source, List<BeanPostProcessor> processors) {}
+
+    // 返回副本，遍历时不受并发写入影响
+    public Set<String> getDependsOn() {
+        synchronized (dependsOn) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(dependsOn));
+        }
+    }
+
+    public void addDependsOn(String beanName) {
+        if(!beanName.equals(this.name))
+            this.dependsOn.add(beanName);
+    }
+
     @Nullable
     public String getInitMethodName() {
         return initMethodName;
@@ -116,6 +291,16 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
         return destroyMethod;
     }
 
+    @Nullable
+    public Consumer<Object> getInitCallback() {
+        return initCallback;
+    }
+
+    @Nullable
+    public Consumer<Object> getDestroyCallback() {
+        return destroyCallback;
+    }
+
     @Nullable
     public Object getInstance() {
         return instance;
@@ -128,15 +313,24 @@ public class BeanDefinition implements Comparable<BeanDefinition>{
     }
     public void setInstance(Object instance) {
         Objects.requireNonNull(instance, "Bean instance is null.");
-        if(!this.beanClass.isAssignableFrom(instance.getClass())) {
+        if(!this.beanClass.isAssignableFrom(instance.getClass()) && !isInterfaceProxy(instance)) {
             throw new BeanCreationException(
                     String.format("Instance '%s' of Bean '%s' is not the expected type: %s", instance,
                             instance.getClass().getName(), this.beanClass.getName()));
         }
         this.instance = instance;
     }
+    // BeanPostProcessor 返回的 JDK 动态代理只实现 Bean 类的接口，只能按接口类型获取
+    boolean isInterfaceProxy(Object instance) {
+        return Proxy.isProxyClass(instance.getClass()) && Arrays.stream(instance.getClass().getInterfaces())
+                .allMatch(i -> i.isAssignableFrom(this.beanClass));
+    }
     public boolean isPrimary() { return this.primary;}
 
+    public int getOrder() {
+        return order;
+    }
+
     @Override
     public String toString() {
         return "BeanDefinition [name=" + name + ", beanClass=" + beanClass.getName() +
@@ -0,0 +1,18 @@
+package com.learn.summer.context;
+
+// AotGenerator 生成的类实现此接口，启动时代替扫描和反射创建 BeanDefinition。
+// 生成时已按构建期的配置评估 @Conditional/@Profile 并校验依赖，运行期不再重新评估，也不检查生成后源码是否变化，
+// 因此需要设置 summer.aot.enabled=true 显式启用
+public interface BeanFactoryInitializer {
+    String ENABLED_KEY = "summer.aot.enabled";
+    String CLASS_SUFFIX = "__BeanFactory";
+
+    void initialize(AotBeanRegistry registry);
+
+    // 生成类与配置类位于同一个包，例如 com.example.App__BeanFactory
+    static String getInitializerClassName(Class<?> configClass) {
+        String pkg = configClass.getPackageName();
+        String simple = configClass.getName().substring(pkg.isEmpty() ? 0 : pkg.length() + 1).replace('$', '_');
+        return (pkg.isEmpty() ? "" : pkg + ".") + simple + CLASS_SUFFIX;
+    }
+}
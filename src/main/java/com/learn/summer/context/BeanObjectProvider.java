@@ -0,0 +1,48 @@
+package com.learn.summer.context;
+
+import com.learn.summer.exception.NoSuchBeanDefinitionException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+class BeanObjectProvider<T> implements ObjectProvider<T> {
+    private final AnnotationConfigApplicationContext context;
+    private final Type type;
+    private final List<Annotation> qualifiers;
+
+    BeanObjectProvider(AnnotationConfigApplicationContext context, Type type, List<Annotation> qualifiers) {
+        this.context = context;
+        this.type = type;
+        this.qualifiers = qualifiers;
+    }
+
+    @Override
+    public T getObject() {
+        T bean = getIfAvailable();
+        if(bean == null)
+            throw new NoSuchBeanDefinitionException(String.format("No bean defined with type '%s'.", type.getTypeName()));
+        return bean;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getIfAvailable() {
+        BeanDefinition def = context.findBeanDefinition(type, qualifiers);
+        return def == null ? null : (T) def.getRequiredInstance();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> getAll() {
+        if(!qualifiers.isEmpty())
+            return (List<T>) AnnotationConfigApplicationContext.Candidates.of(
+                    context.findBeanDefinitionsIncludingParent(type, qualifiers)).beans();
+        return (List<T>) context.getCandidates(type).beans();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectProvider<" + type.getTypeName() + ">";
+    }
+}
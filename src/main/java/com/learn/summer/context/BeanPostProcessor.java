@@ -1,5 +1,10 @@
 package com.learn.summer.context;
 
+import com.learn.summer.utils.MergedAnnotations;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
 public interface BeanPostProcessor {
     // new Bean() 之后执行
     default Object postProcessBeforeInitialization(Object bean, String beanName) {
@@ -15,4 +20,27 @@ public interface BeanPostProcessor {
     default Object postProcessOnSetProperty(Object bean, String beanName) {
         return bean;
     }
+
+    // 只处理 BeanDefinition 声明类型为这些类型（及子类型）的 Bean，为空时不限制
+    default Set<Class<?>> getBeanTypes() {
+        return Set.of();
+    }
+
+    // 只处理类上（含元注解）或 @Bean 方法上带有这些注解之一的 Bean，为空时不限制
+    default Set<Class<? extends Annotation>> getBeanAnnotations() {
+        return Set.of();
+    }
+
+    // 每个 BeanDefinition 只判断一次，结果缓存在 BeanDefinition 中，不适用的 Bean 不再调用该处理器
+    default boolean supports(BeanDefinition def) {
+        Set<Class<?>> types = getBeanTypes();
+        if(!types.isEmpty() && types.stream().noneMatch(type -> type.isAssignableFrom(def.getBeanClass())))
+            return false;
+        Set<Class<? extends Annotation>> annotations = getBeanAnnotations();
+        if(annotations.isEmpty())
+            return true;
+        MergedAnnotations merged = MergedAnnotations.from(def.getBeanClass());
+        return annotations.stream().anyMatch(anno -> merged.isPresent(anno) ||
+                def.getFactoryMethod() != null && def.getFactoryMethod().isAnnotationPresent(anno));
+    }
 }
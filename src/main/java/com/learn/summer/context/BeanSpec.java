@@ -0,0 +1,82 @@
+package com.learn.summer.context;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 函数式注册 Bean 的配置，名称、顺序、注入和 init/destroy 均直接给出，不扫描注解也不反射
+public class BeanSpec<T> {
+    private final Class<T> beanClass;
+    private String name;
+    private int order = Integer.MAX_VALUE;
+    private boolean primary = false;
+    private Consumer<? super T> injector;
+    private Consumer<? super T> initCallback;
+    private Consumer<? super T> destroyCallback;
+
+    BeanSpec(Class<T> beanClass) {
+        this.beanClass = Objects.requireNonNull(beanClass, "Bean class is null.");
+    }
+
+    public BeanSpec<T> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public BeanSpec<T> order(int order) {
+        this.order = order;
+        return this;
+    }
+
+    public BeanSpec<T> primary() {
+        this.primary = true;
+        return this;
+    }
+
+    // 创建后注入字段或调用 Setter，在全部 Bean 创建完成后执行，可用于循环依赖
+    public BeanSpec<T> inject(Consumer<? super T> injector) {
+        this.injector = injector;
+        return this;
+    }
+
+    public BeanSpec<T> init(Consumer<? super T> initCallback) {
+        this.initCallback = initCallback;
+        return this;
+    }
+
+    public BeanSpec<T> destroy(Consumer<? super T> destroyCallback) {
+        this.destroyCallback = destroyCallback;
+        return this;
+    }
+
+    // default name: "HelloWorld" => "helloWorld"
+    String getName() {
+        if(name != null && !name.isEmpty())
+            return name;
+        String simpleName = beanClass.getSimpleName();
+        return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    BeanDefinition toDefinition(Supplier<? extends T> supplier) {
+        var def = new BeanDefinition(getName(), beanClass, supplier, adapt(injector), order, primary, null, null);
+        def.setInitAndDestroyCallback(initCallback == null ? null : adapt(initCallback),
+                destroyCallback == null ? null : adapt(destroyCallback));
+        return def;
+    }
+
+    // 未指定注入逻辑时不做任何注入，不会反射扫描字段
+    @SuppressWarnings("unchecked")
+    static <T> Consumer<Object> adapt(Consumer<? super T> consumer) {
+        if(consumer == null)
+            return bean -> {};
+        return bean -> consumer.accept((T) bean);
+    }
+
+    static <T> BeanDefinition define(Class<T> beanClass, Supplier<? extends T> supplier,
+                                     Consumer<BeanSpec<T>> customizer) {
+        var spec = new BeanSpec<>(beanClass);
+        if(customizer != null)
+            customizer.accept(spec);
+        return spec.toDefinition(supplier);
+    }
+}
@@ -0,0 +1,13 @@
+package com.learn.summer.context;
+
+import java.lang.reflect.AnnotatedElement;
+
+// 在创建 BeanDefinition 时评估，element 为 @Component 类或 @Bean 方法
+public interface Condition {
+    boolean matches(ConditionContext context, AnnotatedElement element);
+
+    // 需要在其他 BeanDefinition 创建完成后评估，例如 @ConditionalOnMissingBean
+    default boolean isDeferred() {
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.learn.summer.context;
+
+import com.learn.summer.io.ApplicationConfigLoader;
+import com.learn.summer.utils.ClassPathUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+// Condition 评估时可访问的信息
+public class ConditionContext {
+    public static final String ACTIVE_PROFILES_KEY = ApplicationConfigLoader.ACTIVE_PROFILES_KEY;
+
+    private final AnnotationConfigApplicationContext context;
+    private final Map<String, BeanDefinition> defs;
+
+    ConditionContext(AnnotationConfigApplicationContext context, Map<String, BeanDefinition> defs) {
+        this.context = context;
+        this.defs = defs;
+    }
+
+    // 读取的属性记录到快照，属性变化时快照失效
+    public String getProperty(String key) {
+        context.snapshot.recordValue(key);
+        return context.propertyResolver.getProperty(key);
+    }
+
+    public ClassLoader getClassLoader() {
+        return ClassPathUtils.getClassLoader();
+    }
+
+    public Set<String> getActiveProfiles() {
+        return Set.copyOf(ApplicationConfigLoader.parseProfiles(getProperty(ACTIVE_PROFILES_KEY)));
+    }
+
+    // 在正在创建的 BeanDefinition、容器中已有的 Bean 以及父容器中查找
+    public boolean containsBeanDefinition(Class<?> type) {
+        if(defs.values().stream().anyMatch(def -> type.isAssignableFrom(def.getBeanClass())))
+            return true;
+        if(context.beans != null && defs != context.beans && !context.findBeanDefinitions(type).isEmpty())
+            return true;
+        return context.parent != null && context.parent.findBeanDefinition(type) != null;
+    }
+}
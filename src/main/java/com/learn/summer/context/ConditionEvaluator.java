@@ -0,0 +1,52 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.Conditional;
+import com.learn.summer.exception.BeanDefinitionException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 评估 @Component 类或 @Bean 方法上的 @Conditional 及以其为元注解的注解
+class ConditionEvaluator {
+    private final Map<Class<? extends Condition>, Condition> conditions = new ConcurrentHashMap<>();
+
+    // 只评估 isDeferred() 与 deferred 相同的 Condition
+    boolean matches(AnnotatedElement element, ConditionContext context, boolean deferred) {
+        for(Condition condition : getConditions(element)) {
+            if(condition.isDeferred() == deferred && !condition.matches(context, element))
+                return false;
+        }
+        return true;
+    }
+
+    boolean isDeferred(AnnotatedElement element) {
+        return getConditions(element).stream().anyMatch(Condition::isDeferred);
+    }
+
+    List<Condition> getConditions(AnnotatedElement element) {
+        List<Condition> list = new ArrayList<>();
+        for(Annotation anno : element.getAnnotations()) {
+            Conditional conditional = anno instanceof Conditional c ? c
+                    : anno.annotationType().getAnnotation(Conditional.class);
+            if(conditional != null) {
+                for(Class<? extends Condition> type : conditional.value())
+                    list.add(conditions.computeIfAbsent(type, ConditionEvaluator::newCondition));
+            }
+        }
+        return list;
+    }
+
+    static Condition newCondition(Class<? extends Condition> type) {
+        try {
+            var cons = type.getDeclaredConstructor();
+            cons.setAccessible(true);
+            return cons.newInstance();
+        }catch (ReflectiveOperationException e) {
+            throw new BeanDefinitionException("Cannot create condition " + type.getName(), e);
+        }
+    }
+}
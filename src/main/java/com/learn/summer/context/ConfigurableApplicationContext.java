@@ -2,15 +2,38 @@ package com.learn.summer.context;
 
 import jakarta.annotation.Nullable;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public interface ConfigurableApplicationContext extends ApplicationContext{
     List<BeanDefinition> findBeanDefinitions(Class<?> type);
     @Nullable
     BeanDefinition findBeanDefinition(Class<?> type);
+    // 按泛型类型查找，例如 Repository<User>
+    List<BeanDefinition> findBeanDefinitions(Type type);
+    @Nullable
+    BeanDefinition findBeanDefinition(Type type);
+    // 按类型及限定注解查找，找不到时查找父容器
+    @Nullable
+    BeanDefinition findBeanDefinition(Type type, List<Annotation> qualifiers);
+    // List/Map 注入的候选：当前容器的在前，其后是父容器中名称未被覆盖的
+    List<BeanDefinition> findBeanDefinitionsIncludingParent(Type type, List<Annotation> qualifiers);
     @Nullable
     BeanDefinition findBeanDefinition(String name);
     @Nullable
     BeanDefinition findBeanDefinition(String name, Class<?> type);
     Object createBeanAsEarlySingleton(BeanDefinition def);
+    @Nullable
+    ConfigurableApplicationContext getParent();
+
+    // 运行期注册和移除 Bean
+    void registerSingleton(String name, Object singleton);
+    <T> void registerBean(String name, Class<T> beanClass, Supplier<T> supplier);
+    void registerBean(Class<?> componentClass);
+    <T> void registerBean(Class<T> beanClass, Supplier<T> supplier, Consumer<BeanSpec<T>> customizer);
+    void registerBeanDefinition(BeanDefinition def);
+    boolean removeBean(String name);
 }
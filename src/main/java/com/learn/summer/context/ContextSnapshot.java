@@ -0,0 +1,352 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.Import;
+import com.learn.summer.exception.BeanDefinitionException;
+import com.learn.summer.io.ApplicationConfigLoader;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.io.ResourceResolver;
+import com.learn.summer.utils.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 记录解析好的 BeanDefinition 图（创建顺序、构造方法/工厂方法、@Value 取值、构造参数的依赖），
+// 下次启动时若类路径和配置均未变化，直接按记录重建，跳过 Class.forName 扫描和依赖查找。
+// 读取时不存在的配置也会记录，之后新增该配置（包括激活 profile）同样使快照失效
+public class ContextSnapshot {
+    public static final String FILE_KEY = "summer.snapshot.file";
+    static final String VERSION = "2";
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path file;
+    private final Class<?> configClass;
+    private final PropertyResolver resolver;
+    private final String[] scanPackages;
+
+    // 是否处于回放模式
+    private boolean restored = false;
+    // 回放：bean name -> 构造参数依赖的 Bean 名称，@Value 参数为 null
+    private final Map<String, String[]> restoredArguments = new HashMap<>();
+    private final List<String> restoredOrder = new ArrayList<>();
+
+    // 录制：Bean 创建完成的顺序及参数依赖，只在启动线程中写入，启动完成后不再录制
+    private volatile boolean recording = true;
+    private final List<String> createdOrder = new ArrayList<>();
+    private final Map<String, String[]> recordedArguments = new HashMap<>();
+    private final Map<String, String> recordedValues = new TreeMap<>();
+
+    public ContextSnapshot(Class<?> configClass, PropertyResolver resolver, String[] scanPackages) {
+        String f = resolver.getProperty(FILE_KEY);
+        // 函数式注册的容器没有配置类，不使用快照
+        this.file = configClass == null || f == null || f.isEmpty() ? null : Path.of(f);
+        this.configClass = configClass;
+        this.resolver = resolver;
+        this.scanPackages = scanPackages;
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public boolean isRestored() {
+        return restored;
+    }
+
+    // 读取快照并重建 BeanDefinition，未启用、不存在或检测到变化时返回 null
+    public Map<String, BeanDefinition> restore() {
+        if(file == null || !Files.isRegularFile(file))
+            return null;
+        Properties props = new Properties();
+        try(InputStream input = Files.newInputStream(file)) {
+            props.load(input);
+        }catch (IOException e) {
+            logger.warn("cannot read snapshot {}, fall back to normal startup.", file, e);
+            return null;
+        }
+        String drift = detectDrift(props);
+        if(drift != null) {
+            logger.info("snapshot {} is stale ({}), fall back to normal startup.", file, drift);
+            return null;
+        }
+        Map<String, BeanDefinition> defs = new HashMap<>();
+        try {
+            int count = Integer.parseInt(props.getProperty("bean.count"));
+            for(int i = 0; i < count; i++) {
+                BeanDefinition def = restoreDefinition(props, "bean." + i + ".");
+                defs.put(def.getName(), def);
+                String args = props.getProperty("bean." + i + ".args");
+                if(args != null)
+                    restoredArguments.put(def.getName(), split(args, true));
+            }
+            restoredOrder.addAll(Arrays.asList(split(props.getProperty("order"), false)));
+        }catch (ReflectiveOperationException | RuntimeException e) {
+            logger.info("snapshot {} cannot be restored ({}), fall back to normal startup.", file, e.toString());
+            restoredArguments.clear();
+            restoredOrder.clear();
+            return null;
+        }
+        logger.info("restored {} bean definitions from snapshot {}.", defs.size(), file);
+        this.restored = true;
+        return defs;
+    }
+
+    String detectDrift(Properties props) {
+        if(!VERSION.equals(props.getProperty("snapshot.version")))
+            return "version changed";
+        if(!configClass.getName().equals(props.getProperty("snapshot.config")))
+            return "config class changed";
+        if(!classpathFingerprint().equals(props.getProperty("snapshot.classpath")))
+            return "classpath changed";
+        if(!activeProfiles().equals(props.getProperty("snapshot.profiles")))
+            return "active profiles changed";
+        for(String name : props.stringPropertyNames()) {
+            if(name.startsWith("value.")) {
+                String key = name.substring(6);
+                if(!props.getProperty(name).equals(currentValue(key)))
+                    return "property " + key + " changed";
+            } else if(name.startsWith("absent.")) {
+                String key = name.substring(7);
+                if(currentValue(key) != null)
+                    return "property " + key + " added";
+            }
+        }
+        return null;
+    }
+
+    String currentValue(String key) {
+        try {
+            return resolver.getProperty(key);
+        }catch (RuntimeException e) {
+            // 缺少必需的配置
+            return null;
+        }
+    }
+
+    String activeProfiles() {
+        return String.join(",", ApplicationConfigLoader.parseProfiles(
+                currentValue(ApplicationConfigLoader.ACTIVE_PROFILES_KEY)));
+    }
+
+    BeanDefinition restoreDefinition(Properties props, String prefix) throws ReflectiveOperationException {
+        String name = props.getProperty(prefix + "name");
+        Class<?> beanClass = loadClass(props.getProperty(prefix + "class"));
+        int order = Integer.parseInt(props.getProperty(prefix + "order"));
+        boolean primary = Boolean.parseBoolean(props.getProperty(prefix + "primary"));
+        String initMethodName = props.getProperty(prefix + "init-method-name");
+        String destroyMethodName = props.getProperty(prefix + "destroy-method-name");
+        String factoryBean = props.getProperty(prefix + "factory-bean");
+        if(factoryBean != null) {
+            Class<?> declaring = loadClass(props.getProperty(prefix + "factory-class"));
+            Method factoryMethod = declaring.getDeclaredMethod(props.getProperty(prefix + "factory-method"),
+                    loadClasses(props.getProperty(prefix + "params")));
+            return new BeanDefinition(name, beanClass, factoryBean, factoryMethod, order, primary,
+                    initMethodName, destroyMethodName, null, null);
+        }
+        Constructor<?> constructor = beanClass.getDeclaredConstructor(loadClasses(props.getProperty(prefix + "params")));
+        String init = props.getProperty(prefix + "init-method");
+        String destroy = props.getProperty(prefix + "destroy-method");
+        return new BeanDefinition(name, beanClass, constructor, order, primary, initMethodName, destroyMethodName,
+                init == null ? null : beanClass.getDeclaredMethod(init),
+                destroy == null ? null : beanClass.getDeclaredMethod(destroy));
+    }
+
+    // 回放时按记录顺序创建，保证依赖总是先于使用者创建
+    public List<String> getCreationOrder() {
+        return restoredOrder;
+    }
+
+    // 回放时返回构造参数依赖的 Bean 名称，录制模式返回 null
+    public String[] getArguments(String beanName) {
+        return restoredArguments.get(beanName);
+    }
+
+    public void recordArguments(String beanName, String[] argumentBeanNames) {
+        if(isRecording())
+            recordedArguments.put(beanName, argumentBeanNames);
+    }
+
+    public void recordCreated(String beanName) {
+        if(isRecording())
+            createdOrder.add(beanName);
+    }
+
+    public void recordValue(String key) {
+        if(isRecording())
+            recordedValues.put(key, currentValue(key));
+    }
+
+    boolean isRecording() {
+        return file != null && !restored && recording;
+    }
+
+    // 容器启动完成，之后运行期创建的作用域实例不再录制
+    public void stopRecording() {
+        recording = false;
+    }
+
+    // 正常启动完成后写入快照
+    public void save(Map<String, BeanDefinition> beans) {
+        if(file == null || restored)
+            return;
+        // 由 Supplier 创建的 Bean（如容器自带的 MeterRegistry）在回放时重新注册
+        List<String> createdOrder = this.createdOrder.stream()
+                .filter(name -> beans.get(name).getInstanceSupplier() == null).toList();
+        Properties props = new Properties();
+        props.setProperty("snapshot.version", VERSION);
+        props.setProperty("snapshot.config", configClass.getName());
+        props.setProperty("snapshot.classpath", classpathFingerprint());
+        props.setProperty("snapshot.profiles", activeProfiles());
+        props.setProperty("bean.count", String.valueOf(createdOrder.size()));
+        props.setProperty("order", String.join(",", createdOrder));
+        for(int i = 0; i < createdOrder.size(); i++) {
+            BeanDefinition def = beans.get(createdOrder.get(i));
+            String prefix = "bean." + i + ".";
+            props.setProperty(prefix + "name", def.getName());
+            props.setProperty(prefix + "class", def.getBeanClass().getName());
+            props.setProperty(prefix + "order", String.valueOf(def.getOrder()));
+            props.setProperty(prefix + "primary", String.valueOf(def.isPrimary()));
+            setIfPresent(props, prefix + "init-method-name", def.getInitMethodName());
+            setIfPresent(props, prefix + "destroy-method-name", def.getDestroyMethodName());
+            Executable createFn;
+            if(def.getFactoryName() != null) {
+                createFn = def.getFactoryMethod();
+                props.setProperty(prefix + "factory-bean", def.getFactoryName());
+                props.setProperty(prefix + "factory-class", createFn.getDeclaringClass().getName());
+                props.setProperty(prefix + "factory-method", createFn.getName());
+            } else {
+                createFn = def.getConstructor();
+                setIfPresent(props, prefix + "init-method",
+                        def.getInitMethod() == null ? null : def.getInitMethod().getName());
+                setIfPresent(props, prefix + "destroy-method",
+                        def.getDestroyMethod() == null ? null : def.getDestroyMethod().getName());
+            }
+            props.setProperty(prefix + "params", Arrays.stream(createFn.getParameterTypes())
+                    .map(Class::getName).collect(Collectors.joining(",")));
+            String[] args = recordedArguments.get(def.getName());
+            if(args != null)
+                props.setProperty(prefix + "args", Arrays.stream(args)
+                        .map(a -> a == null ? "" : a).collect(Collectors.joining(",")));
+        }
+        recordedValues.forEach((key, value) -> {
+            if(value != null)
+                props.setProperty("value." + key, value);
+            else
+                props.setProperty("absent." + key, "");
+        });
+        try(OutputStream output = Files.newOutputStream(file)) {
+            props.store(output, "summer context snapshot");
+        }catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("context snapshot with {} beans written to {}.", createdOrder.size(), file);
+    }
+
+    // 扫描包下所有资源、配置类及其 @Import 的类的名称、大小和修改时间（jar 中的资源取 jar 包的），
+    // 只遍历文件，不加载类
+    String classpathFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for(String pkg : scanPackages) {
+                List<String> entries = new ResourceResolver(pkg).scan(res -> res.name() + stamp(res.path()));
+                Collections.sort(entries);
+                for(String entry : entries)
+                    digest.update((entry + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            List<Class<?>> classes = new ArrayList<>();
+            classes.add(configClass);
+            Import imports = ClassUtils.findAnnotation(configClass, Import.class);
+            if(imports != null)
+                classes.addAll(Arrays.asList(imports.value()));
+            for(Class<?> c : classes) {
+                URL url = c.getResource(c.getSimpleName() + ".class");
+                String location = url == null ? "" : URLDecoder.decode(url.toString(), StandardCharsets.UTF_8);
+                // 只取 jar 包本身，jar 中的条目路径不参与
+                int sep = location.indexOf("!/");
+                String entry = c.getName() + stamp(sep < 0 ? location : location.substring(0, sep));
+                digest.update((entry + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // file:<path> 或 jar:file:<jar>!... 对应文件的大小和修改时间
+    static String stamp(String location) {
+        String path = location;
+        if(path.startsWith("jar:")) {
+            int sep = path.indexOf('!');
+            path = path.substring(4, sep < 0 ? path.length() : sep);
+        }
+        if(!path.startsWith("file:"))
+            return "";
+        try {
+            Path p = Path.of(path.substring(5));
+            return ":" + Files.size(p) + ":" + Files.getLastModifiedTime(p).toMillis();
+        }catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void setIfPresent(Properties props, String key, String value) {
+        if(value != null)
+            props.setProperty(key, value);
+    }
+
+    static String[] split(String s, boolean emptyAsNull) {
+        if(s == null || s.isEmpty())
+            return new String[0];
+        String[] parts = s.split(",", -1);
+        if(emptyAsNull) {
+            for(int i = 0; i < parts.length; i++) {
+                if(parts[i].isEmpty())
+                    parts[i] = null;
+            }
+        }
+        return parts;
+    }
+
+    static Class<?>[] loadClasses(String names) throws ClassNotFoundException {
+        String[] parts = split(names, false);
+        Class<?>[] classes = new Class<?>[parts.length];
+        for(int i = 0; i < parts.length; i++)
+            classes[i] = loadClass(parts[i]);
+        return classes;
+    }
+
+    static Class<?> loadClass(String name) throws ClassNotFoundException {
+        return switch (name) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "short" -> short.class;
+            case "char" -> char.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            default -> Class.forName(name);
+        };
+    }
+
+    static BeanDefinitionException missing(String beanName, String dependency) {
+        return new BeanDefinitionException(String.format(
+                "Bean '%s' recorded in snapshot depends on missing bean '%s'.", beanName, dependency));
+    }
+}
@@ -0,0 +1,46 @@
+package com.learn.summer.context;
+
+import com.learn.summer.metrics.MeterRegistry;
+import com.learn.summer.scope.ScopedBeanFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// 每个实例对应一个 BeanDefinition 副本，销毁时按副本调用原始实例的 destroy 方法
+class DefaultScopedBeanFactory implements ScopedBeanFactory {
+    private final AnnotationConfigApplicationContext context;
+    private final BeanDefinition definition;
+    // 交给作用域的实例（可能是 BeanPostProcessor 返回的代理）-> 副本
+    private final Map<Object, BeanDefinition> instances = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    DefaultScopedBeanFactory(AnnotationConfigApplicationContext context, BeanDefinition definition) {
+        this.context = context;
+        this.definition = definition;
+    }
+
+    @Override
+    public BeanDefinition getDefinition() {
+        return definition;
+    }
+
+    @Override
+    public Object create() {
+        BeanDefinition copy = context.createScopedInstance(definition);
+        Object instance = copy.getRequiredInstance();
+        instances.put(instance, copy);
+        return instance;
+    }
+
+    @Override
+    public void destroy(Object instance) {
+        BeanDefinition copy = instances.remove(instance);
+        if(copy != null)
+            context.destroyScopedInstance(copy);
+    }
+
+    @Override
+    public MeterRegistry getMeterRegistry() {
+        return context.getOrCreateMeterRegistry();
+    }
+}
@@ -0,0 +1,299 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Value;
+import com.learn.summer.exception.BeanValidationException;
+import com.learn.summer.expression.Expression;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.utils.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 不实例化 Bean，解析全部构造方法、工厂方法、字段和 Setter 注入点得到依赖图，
+// 用于启动前一次性报告全部问题，以及导出 DOT/JSON 和计算关键路径
+public class DependencyGraph {
+    public static final String VALIDATION_ENABLED_KEY = "summer.validation.enabled";
+    // 以 .json 结尾时导出 JSON，否则导出 DOT
+    public static final String EXPORT_FILE_KEY = "summer.graph.file";
+
+    // CONSTRUCTOR 和 FACTORY 决定创建顺序，不允许循环；PROPERTY 为字段和 Setter 注入
+    public enum EdgeType {
+        CONSTRUCTOR, FACTORY, PROPERTY
+    }
+
+    public record Edge(String from, String to, EdgeType type, String injectionPoint) {}
+
+    private final AnnotationConfigApplicationContext context;
+    private final Map<String, BeanDefinition> nodes = new TreeMap<>();
+    private final List<Edge> edges = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+
+    DependencyGraph(AnnotationConfigApplicationContext context) {
+        this.context = context;
+        this.nodes.putAll(context.beans);
+        for(BeanDefinition def : nodes.values())
+            resolve(def);
+        detectCycles();
+    }
+
+    public Map<String, BeanDefinition> getNodes() {
+        return Collections.unmodifiableMap(nodes);
+    }
+
+    public List<Edge> getEdges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public void validate() {
+        if(!problems.isEmpty())
+            throw new BeanValidationException(problems);
+    }
+
+    void resolve(BeanDefinition def) {
+        // 由生成代码或 Supplier 创建的 Bean 无法静态分析
+        if(def.getInstanceSupplier() != null)
+            return;
+        Executable createFn = def.getFactoryName() == null ? def.getConstructor() : def.getFactoryMethod();
+        String createName = def.getFactoryName() == null ? "constructor " + def.getBeanClass().getSimpleName()
+                : "factory method " + createFn.getName() + "()";
+        if(def.getFactoryName() != null)
+            addEdge(def, def.getFactoryName(), EdgeType.FACTORY, createName);
+        boolean isConfiguration = context.isConfigurationDefinition(def);
+        for(Parameter param : createFn.getParameters()) {
+            Value value = param.getAnnotation(Value.class);
+            Autowired autowired = param.getAnnotation(Autowired.class);
+            String point = "parameter " + param.getName() + " of " + createName;
+            if(value == null && autowired == null) {
+                problem(def, point, "must specify @Autowired or @Value");
+            } else if(isConfiguration && autowired != null) {
+                problem(def, point, "cannot specify @Autowired when create @Configuration bean");
+            } else {
+                resolvePoint(def, point, value, autowired, param.getType(), param.getParameterizedType(),
+                        ClassUtils.getQualifiers(param.getAnnotations()), EdgeType.CONSTRUCTOR, true);
+            }
+        }
+        for(Class<?> clazz = def.getBeanClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for(Field f : clazz.getDeclaredFields()) {
+                Value value = f.getAnnotation(Value.class);
+                Autowired autowired = f.getAnnotation(Autowired.class);
+                if(value == null && autowired == null)
+                    continue;
+                String point = "field " + clazz.getSimpleName() + "." + f.getName();
+                int mod = f.getModifiers();
+                if(Modifier.isStatic(mod) || Modifier.isFinal(mod))
+                    problem(def, point, "cannot inject static or final field");
+                else
+                    resolvePoint(def, point, value, autowired, f.getType(), f.getGenericType(),
+                            ClassUtils.getQualifiers(f.getAnnotations()), EdgeType.PROPERTY, false);
+            }
+            for(Method m : clazz.getDeclaredMethods()) {
+                Value value = m.getAnnotation(Value.class);
+                Autowired autowired = m.getAnnotation(Autowired.class);
+                if(value == null && autowired == null)
+                    continue;
+                String point = "method " + clazz.getSimpleName() + "." + m.getName() + "()";
+                if(Modifier.isStatic(m.getModifiers()))
+                    problem(def, point, "cannot inject static method");
+                else if(m.getParameterCount() != 1)
+                    problem(def, point, "cannot inject a non-setter method");
+                else
+                    resolvePoint(def, point, value, autowired, m.getParameterTypes()[0],
+                            m.getGenericParameterTypes()[0],
+                            ClassUtils.getQualifiers(m.getAnnotations(), m.getParameterAnnotations()[0]),
+                            EdgeType.PROPERTY, false);
+            }
+        }
+    }
+
+    // 与创建和注入时的解析规则保持一致
+    void resolvePoint(BeanDefinition def, String point, Value value, Autowired autowired, Class<?> type,
+                      Type genericType, List<Annotation> qualifiers, EdgeType edgeType, boolean requiredValue) {
+        if(value != null && autowired != null) {
+            problem(def, point, "cannot specify both @Autowired and @Value");
+            return;
+        }
+        try {
+            if(value != null) {
+                if(Expression.isExpression(value.value())) {
+                    // 只检查语法和配置是否存在，引用的 Bean 作为依赖边
+                    Expression expr = context.parseExpression(value.value());
+                    expr.getPlaceholders().forEach(context.propertyResolver::getProperty);
+                    for(String name : expr.getBeanReferences()) {
+                        if(context.findBeanDefinition(name) != null)
+                            addEdge(def, name, edgeType, point);
+                        else
+                            problem(def, point, "no bean named '" + name + "' referenced by " + value.value());
+                    }
+                } else if(requiredValue)
+                    context.propertyResolver.getRequiredProperty(value.value(), type);
+                else
+                    context.propertyResolver.getProperty(value.value(), type);
+                return;
+            }
+            if(context.isContainerInjection(type)) {
+                if(type == PropertyResolver.class)
+                    return;
+                Type elementType = context.getElementType(def, genericType, type == Map.class ? 1 : 0, point);
+                if(type == Optional.class) {
+                    BeanDefinition dep = context.findBeanDefinition(elementType, qualifiers);
+                    if(dep != null)
+                        addEdge(def, dep.getName(), edgeType, point);
+                } else if(type != ObjectProvider.class) {
+                    // ObjectProvider 延迟获取，不构成依赖
+                    context.findBeanDefinitions(elementType, qualifiers)
+                            .forEach(dep -> addEdge(def, dep.getName(), edgeType, point));
+                }
+                return;
+            }
+            String name = autowired.name();
+            BeanDefinition dep = name.isEmpty() ? context.findBeanDefinition(genericType, qualifiers)
+                    : context.findBeanDefinition(name, type);
+            if(dep != null)
+                addEdge(def, dep.getName(), edgeType, point);
+            else if(autowired.value())
+                problem(def, point, "no bean of type '" + genericType.getTypeName() + "'" +
+                        (name.isEmpty() ? "" : " named '" + name + "'") +
+                        (qualifiers.isEmpty() ? "" : " with qualifiers " + qualifiers) + " found");
+        }catch (RuntimeException e) {
+            // 缺少配置、类型转换失败、依赖不唯一等
+            problem(def, point, e.getMessage());
+        }
+    }
+
+    void addEdge(BeanDefinition def, String to, EdgeType type, String point) {
+        edges.add(new Edge(def.getName(), to, type, point));
+    }
+
+    void problem(BeanDefinition def, String point, String message) {
+        problems.add(String.format("Bean '%s' (%s) %s: %s", def.getName(), def.getBeanClass().getName(),
+                point, message));
+    }
+
+    // 构造方法和工厂方法之间的循环依赖无法解决
+    void detectCycles() {
+        Map<String, List<String>> creation = adjacency(EnumSet.of(EdgeType.CONSTRUCTOR, EdgeType.FACTORY));
+        Set<String> done = new HashSet<>();
+        Set<List<String>> reported = new HashSet<>();
+        for(String node : nodes.keySet())
+            findCycles(node, creation, new ArrayList<>(), done, reported);
+    }
+
+    void findCycles(String node, Map<String, List<String>> adjacency, List<String> path, Set<String> done,
+                    Set<List<String>> reported) {
+        int index = path.indexOf(node);
+        if(index >= 0) {
+            List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+            // 同一个环只报告一次
+            List<String> key = new ArrayList<>(cycle);
+            Collections.rotate(key, -key.indexOf(Collections.min(key)));
+            if(reported.add(key)) {
+                cycle.add(node);
+                problems.add("Circular dependency between constructors: " + String.join(" -> ", cycle));
+            }
+            return;
+        }
+        if(done.contains(node))
+            return;
+        path.add(node);
+        for(String dep : adjacency.getOrDefault(node, List.of()))
+            findCycles(dep, adjacency, path, done, reported);
+        path.removeLast();
+        done.add(node);
+    }
+
+    Map<String, List<String>> adjacency(Set<EdgeType> types) {
+        Map<String, List<String>> adjacency = new HashMap<>();
+        for(Edge e : edges) {
+            if(types.contains(e.type()) && nodes.containsKey(e.to()))
+                adjacency.computeIfAbsent(e.from(), k -> new ArrayList<>()).add(e.to());
+        }
+        return adjacency;
+    }
+
+    // 最长的依赖链，按创建顺序排列，其长度是完全并行启动时的最少步数；忽略字段注入形成的环
+    public List<String> getCriticalPath() {
+        Map<String, List<String>> adjacency = adjacency(EnumSet.allOf(EdgeType.class));
+        Map<String, Integer> depth = new HashMap<>();
+        Map<String, String> next = new HashMap<>();
+        String start = null;
+        for(String node : nodes.keySet()) {
+            computeDepth(node, adjacency, depth, next, new HashSet<>());
+            if(start == null || depth.get(node) > depth.get(start))
+                start = node;
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for(String node = start; node != null; node = next.get(node))
+            path.addFirst(node);
+        return path;
+    }
+
+    int computeDepth(String node, Map<String, List<String>> adjacency, Map<String, Integer> depth,
+                     Map<String, String> next, Set<String> visiting) {
+        Integer d = depth.get(node);
+        if(d != null)
+            return d;
+        if(!visiting.add(node))
+            return 0;
+        int max = 0;
+        for(String dep : adjacency.getOrDefault(node, List.of())) {
+            int dd = computeDepth(dep, adjacency, depth, next, visiting);
+            if(dd > max) {
+                max = dd;
+                next.put(node, dep);
+            }
+        }
+        visiting.remove(node);
+        depth.put(node, max + 1);
+        return max + 1;
+    }
+
+    // 依赖方指向被依赖方，字段注入为虚线，工厂方法为点线
+    public String toDot() {
+        StringBuilder sb = new StringBuilder("digraph beans {\n    rankdir=LR;\n");
+        Set<String> critical = new HashSet<>(getCriticalPath());
+        nodes.values().forEach(def -> sb.append("    ").append(quote(def.getName()))
+                .append(" [label=").append(quote(def.getName() + "\\n" + def.getBeanClass().getSimpleName()))
+                .append(critical.contains(def.getName()) ? ", color=red" : "").append("];\n"));
+        for(Edge e : edges) {
+            sb.append("    ").append(quote(e.from())).append(" -> ").append(quote(e.to()));
+            if(e.type() == EdgeType.PROPERTY)
+                sb.append(" [style=dashed]");
+            else if(e.type() == EdgeType.FACTORY)
+                sb.append(" [style=dotted]");
+            sb.append(";\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    public String toJson() {
+        String nodesJson = nodes.values().stream().map(def -> "{\"name\":\"" + escape(def.getName()) +
+                "\",\"class\":\"" + escape(def.getBeanClass().getName()) + "\"}")
+                .collect(Collectors.joining(",\n    ", "[\n    ", "\n  ]"));
+        String edgesJson = edges.stream().map(e -> "{\"from\":\"" + escape(e.from()) + "\",\"to\":\"" +
+                escape(e.to()) + "\",\"type\":\"" + e.type().name().toLowerCase() + "\",\"point\":\"" +
+                escape(e.injectionPoint()) + "\"}")
+                .collect(Collectors.joining(",\n    ", "[\n    ", "\n  ]"));
+        return "{\n  \"nodes\":" + nodesJson + ",\n  \"edges\":" + edgesJson +
+                ",\n  \"criticalPath\":" + stringArray(getCriticalPath()) +
+                ",\n  \"problems\":" + stringArray(problems) + "\n}";
+    }
+
+    static String stringArray(List<String> list) {
+        return list.stream().map(s -> "\"" + escape(s) + "\"").collect(Collectors.joining(",", "[", "]"));
+    }
+
+    static String quote(String s) {
+        return "\"" + s.replace("\"", "\\\"") + "\"";
+    }
+
+    static String escape(String s) {
+        return StartupRecorder.escape(s).replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
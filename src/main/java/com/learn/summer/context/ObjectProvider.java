@@ -0,0 +1,17 @@
+package com.learn.summer.context;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+// 延迟获取依赖，每次调用时才查找，可用于注入尚未创建或运行期注册的 Bean
+public interface ObjectProvider<T> {
+    // 不存在或存在多个且没有 @Primary 时抛出异常
+    T getObject();
+
+    @Nullable
+    T getIfAvailable();
+
+    // 按 @Order 排序的全部 Bean，不存在时返回空列表
+    List<T> getAll();
+}
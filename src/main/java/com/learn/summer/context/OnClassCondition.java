@@ -0,0 +1,19 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.ConditionalOnClass;
+
+import java.lang.reflect.AnnotatedElement;
+
+public class OnClassCondition implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedElement element) {
+        ConditionalOnClass anno = element.getAnnotation(ConditionalOnClass.class);
+        ClassLoader loader = context.getClassLoader();
+        for(String className : anno.value()) {
+            // 只查找 .class 资源，不加载类
+            if(loader.getResource(className.replace('.', '/') + ".class") == null)
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.ConditionalOnMissingBean;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+
+public class OnMissingBeanCondition implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedElement element) {
+        Class<?>[] types = element.getAnnotation(ConditionalOnMissingBean.class).value();
+        if(types.length == 0)
+            types = new Class<?>[] {element instanceof Method m ? m.getReturnType() : (Class<?>) element};
+        for(Class<?> type : types) {
+            if(context.containsBeanDefinition(type))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isDeferred() {
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.ConditionalOnProfile;
+import com.learn.summer.annotation.Profile;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Set;
+
+public class OnProfileCondition implements Condition {
+    static final String DEFAULT_PROFILE = "default";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedElement element) {
+        Set<String> active = context.getActiveProfiles();
+        if(active.isEmpty())
+            active = Set.of(DEFAULT_PROFILE);
+        Profile profile = element.getAnnotation(Profile.class);
+        String[] expressions = profile != null ? profile.value()
+                : element.getAnnotation(ConditionalOnProfile.class).value();
+        for(String expr : expressions) {
+            boolean matched = expr.startsWith("!") ? !active.contains(expr.substring(1).strip())
+                    : active.contains(expr.strip());
+            if(matched)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.learn.summer.context;
+
+import com.learn.summer.annotation.ConditionalOnProperty;
+
+import java.lang.reflect.AnnotatedElement;
+
+public class OnPropertyCondition implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedElement element) {
+        ConditionalOnProperty anno = element.getAnnotation(ConditionalOnProperty.class);
+        String value = context.getProperty(anno.value());
+        if(value == null)
+            return anno.matchIfMissing();
+        if(anno.havingValue().isEmpty())
+            return !"false".equalsIgnoreCase(value);
+        return anno.havingValue().equalsIgnoreCase(value);
+    }
+}
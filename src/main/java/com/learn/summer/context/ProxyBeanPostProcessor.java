@@ -0,0 +1,73 @@
+package com.learn.summer.context;
+
+import com.learn.summer.exception.BeanCreationException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// 用 JDK 动态代理包装 Bean，只能拦截接口中声明的方法；字段和 Setter 注入仍作用于原始 Bean
+public abstract class ProxyBeanPostProcessor implements BeanPostProcessor {
+    // 原始 Bean 由代理自身持有：作用域中同名的多个实例各自解析到自己的原始 Bean，实例销毁后随代理回收
+    private record OriginHandler(ProxyBeanPostProcessor owner, Object origin, InvocationHandler handler)
+            implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return handler.invoke(proxy, method, args);
+        }
+    }
+
+    // 返回 null 表示不需要代理
+    protected abstract InvocationHandler createHandler(Object bean, String beanName);
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        InvocationHandler handler = createHandler(bean, beanName);
+        if(handler == null)
+            return bean;
+        Class<?>[] interfaces = getProxyInterfaces(bean.getClass());
+        if(interfaces.length == 0)
+            throw new BeanCreationException(String.format("Cannot create proxy for bean '%s': %s " +
+                    "does not implement any interface.", beanName, bean.getClass().getName()));
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces,
+                new OriginHandler(this, bean, handler));
+    }
+
+    @Override
+    public Object postProcessOnSetProperty(Object bean, String beanName) {
+        if(Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof OriginHandler h
+                && h.owner() == this)
+            return h.origin();
+        return bean;
+    }
+
+    // 代理实现的接口：Bean 类及其父类实现的全部接口
+    public static Class<?>[] getProxyInterfaces(Class<?> beanClass) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for(Class<?> c = beanClass; c != null; c = c.getSuperclass())
+            interfaces.addAll(Arrays.asList(c.getInterfaces()));
+        return interfaces.toArray(Class<?>[]::new);
+    }
+
+    // 接口方法在 Bean 类中的实现，用于读取实现方法上的注解
+    public static Method getImplementation(Class<?> beanClass, Method method) {
+        try {
+            return beanClass.getMethod(method.getName(), method.getParameterTypes());
+        }catch (NoSuchMethodException e) {
+            return method;
+        }
+    }
+
+    // 调用原始方法，抛出原始异常
+    public static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
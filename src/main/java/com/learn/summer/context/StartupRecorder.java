@@ -0,0 +1,194 @@
+package com.learn.summer.context;
+
+import com.learn.summer.io.PropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// 记录容器启动各阶段及每个 Bean 各步骤的耗时
+public class StartupRecorder {
+    public static final String ENABLED_KEY = "summer.startup.recorder.enabled";
+    public static final String TIMELINE_FILE_KEY = "summer.startup.recorder.timeline-file";
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final boolean enabled;
+    private final String timelineFile;
+    private final long startNanos;
+    // 按发生顺序记录的时间线
+    private final List<Step> timeline = new ArrayList<>();
+    // 累计型阶段，例如分散在各处的 Class.forName
+    private final Map<String, Long> accumulated = new LinkedHashMap<>();
+    private final Map<String, BeanTiming> beanTimings = new LinkedHashMap<>();
+    // 各阶段累计耗时，未启用时也记录，容器启动后发布到 MeterRegistry
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private volatile long finishNanos;
+
+    public StartupRecorder(PropertyResolver resolver) {
+        this.enabled = resolver.getProperty(ENABLED_KEY, boolean.class, false);
+        this.timelineFile = resolver.getProperty(TIMELINE_FILE_KEY);
+        this.startNanos = System.nanoTime();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 未启用时返回 0，调用方无需再判断
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    // 阶段数量很少，总是计时
+    public long startPhase() {
+        return System.nanoTime();
+    }
+
+    public void phase(String phase, long start) {
+        long end = System.nanoTime();
+        synchronized (this) {
+            phaseNanos.merge(phase, end - start, Long::sum);
+            if(enabled)
+                timeline.add(new Step(phase, null, start, end));
+        }
+    }
+
+    public void accumulate(String phase, long start) {
+        if(!enabled) return;
+        long nanos = System.nanoTime() - start;
+        synchronized (this) {
+            accumulated.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    public void beanStep(String beanName, BeanStep step, long start) {
+        // 启动结束后作用域 Bean 在运行期创建的实例不再记录
+        if(!enabled || finishNanos != 0) return;
+        long end = System.nanoTime();
+        // 异步 init 可能在多个线程中记录
+        synchronized (this) {
+            timeline.add(new Step(step.name().toLowerCase(), beanName, start, end));
+            beanTimings.computeIfAbsent(beanName, BeanTiming::new).nanos[step.ordinal()] += end - start;
+        }
+    }
+
+    // 记录替换了 Bean 实例的 BeanPostProcessor
+    public void beanReplaced(String beanName, BeanPostProcessor processor) {
+        if(!enabled || finishNanos != 0) return;
+        synchronized (this) {
+            beanTimings.computeIfAbsent(beanName, BeanTiming::new).replacedBy.add(processor.getClass().getName());
+        }
+    }
+
+    // 容器构造结束时输出报告
+    public void finish() {
+        this.finishNanos = System.nanoTime();
+        if(!enabled) return;
+        logger.info("{}", getReport());
+        if(timelineFile != null && !timelineFile.isEmpty()) {
+            try {
+                Files.writeString(Path.of(timelineFile), toJson(), StandardCharsets.UTF_8);
+                logger.info("startup timeline written to {}", timelineFile);
+            }catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            logger.atDebug().log("startup timeline: {}", toJson());
+        }
+    }
+
+    // 容器构造完成前返回到目前为止的耗时
+    public long getStartupNanos() {
+        return (finishNanos == 0 ? System.nanoTime() : finishNanos) - startNanos;
+    }
+
+    public synchronized Map<String, Long> getPhaseNanos() {
+        return new LinkedHashMap<>(phaseNanos);
+    }
+
+    public synchronized String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Startup finished in %.3f ms%n", millis(System.nanoTime() - startNanos)));
+        sb.append("Phases:\n");
+        timeline.stream().filter(s -> s.beanName() == null).forEach(s ->
+                sb.append(String.format("  %-24s %10.3f ms%n", s.name(), millis(s.duration()))));
+        accumulated.forEach((name, nanos) ->
+                sb.append(String.format("  %-24s %10.3f ms (accumulated)%n", name, millis(nanos))));
+        sb.append(String.format("Beans (sorted by total time):%n  %-32s %10s %10s %10s %10s %10s%n",
+                "name", "create", "process", "inject", "init", "total"));
+        beanTimings.values().stream()
+                .sorted(Comparator.comparingLong(BeanTiming::total).reversed())
+                .forEach(t -> {
+                    sb.append(String.format("  %-32s %10.3f %10.3f %10.3f %10.3f %10.3f", t.beanName,
+                            millis(t.nanos[BeanStep.CREATE.ordinal()]),
+                            millis(t.nanos[BeanStep.POST_PROCESS.ordinal()]),
+                            millis(t.nanos[BeanStep.INJECT.ordinal()]),
+                            millis(t.nanos[BeanStep.INIT.ordinal()]), millis(t.total())));
+                    if(!t.replacedBy.isEmpty())
+                        sb.append("  replaced by ").append(t.replacedBy);
+                    sb.append('\n');
+                });
+        return sb.toString();
+    }
+
+    // 时间线，单位为微秒，相对容器启动时间
+    public synchronized String toJson() {
+        StringJoiner events = new StringJoiner(",\n    ", "[\n    ", "\n  ]");
+        for(Step s : timeline) {
+            StringBuilder e = new StringBuilder("{\"name\":\"").append(escape(s.name())).append('"');
+            if(s.beanName() != null)
+                e.append(",\"bean\":\"").append(escape(s.beanName())).append('"');
+            e.append(",\"start\":").append((s.start() - startNanos) / 1000)
+                    .append(",\"duration\":").append(s.duration() / 1000).append('}');
+            events.add(e);
+        }
+        StringJoiner acc = new StringJoiner(",", "{", "}");
+        accumulated.forEach((name, nanos) -> acc.add("\"" + escape(name) + "\":" + nanos / 1000));
+        StringJoiner replaced = new StringJoiner(",", "{", "}");
+        beanTimings.values().stream().filter(t -> !t.replacedBy.isEmpty()).forEach(t -> {
+            StringJoiner ps = new StringJoiner(",", "[", "]");
+            t.replacedBy.forEach(p -> ps.add("\"" + escape(p) + "\""));
+            replaced.add("\"" + escape(t.beanName) + "\":" + ps);
+        });
+        return "{\n  \"unit\":\"us\",\n  \"events\":" + events + ",\n  \"accumulated\":" + acc +
+                ",\n  \"replacedBy\":" + replaced + "\n}";
+    }
+
+    static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public enum BeanStep {
+        CREATE, POST_PROCESS, INJECT, INIT
+    }
+
+    record Step(String name, String beanName, long start, long end) {
+        long duration() {
+            return end - start;
+        }
+    }
+
+    static class BeanTiming {
+        final String beanName;
+        final long[] nanos = new long[BeanStep.values().length];
+        final List<String> replacedBy = new ArrayList<>(1);
+
+        BeanTiming(String beanName) {
+            this.beanName = beanName;
+        }
+
+        long total() {
+            return Arrays.stream(nanos).sum();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.learn.summer.exception;
+
+// 对象池已关闭或等待借出超时
+public class BeanPoolException extends BeansException {
+    public BeanPoolException(String message) {
+        super(message);
+    }
+
+    public BeanPoolException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
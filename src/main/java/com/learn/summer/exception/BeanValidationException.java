@@ -0,0 +1,18 @@
+package com.learn.summer.exception;
+
+import java.util.List;
+
+// 启动前校验发现的全部问题
+public class BeanValidationException extends BeanDefinitionException {
+    private final List<String> problems;
+
+    public BeanValidationException(List<String> problems) {
+        super(String.format("%d problem(s) found in bean definitions:%n  %s", problems.size(),
+                String.join(System.lineSeparator() + "  ", problems)));
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+}
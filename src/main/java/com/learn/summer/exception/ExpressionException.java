@@ -0,0 +1,12 @@
+package com.learn.summer.exception;
+
+// #{...} 表达式解析或求值失败
+public class ExpressionException extends BeansException {
+    public ExpressionException(String message) {
+        super(message);
+    }
+
+    public ExpressionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.learn.summer.exception;
+
+// @Bulkhead 或 @RateLimited 拒绝了调用
+public class LimitExceededException extends BeansException {
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.learn.summer.expression;
+
+import jakarta.annotation.Nullable;
+
+// 表达式求值时读取配置和 Bean，由容器提供
+public interface EvaluationContext {
+    // placeholder 为 ${key} 或 ${key:default}
+    @Nullable
+    String getProperty(String placeholder);
+
+    Object getBean(String name);
+}
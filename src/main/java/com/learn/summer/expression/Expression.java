@@ -0,0 +1,71 @@
+package com.learn.summer.expression;
+
+import com.learn.summer.exception.ExpressionException;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+// @Value 中的 #{...} 表达式：支持算术、比较、&& || !、?: 条件、字符串拼接、${key} 配置、@bean 引用、
+// 属性和方法访问（a.b、a?.b、a.m(x)）及下标 a[i]。表达式编译为由 lambda 组成的求值树，
+// 常量子表达式在编译时折叠，成员访问缓存 MethodHandle，每次求值只遍历这棵树；
+// 编译结果由容器按表达式字符串缓存，容器关闭后随之释放
+public final class Expression {
+    private final String source;
+    private final Node root;
+    private final List<String> placeholders;
+    private final List<String> beanReferences;
+
+    Expression(String source, Node root, List<String> placeholders, List<String> beanReferences) {
+        this.source = source;
+        this.root = root;
+        this.placeholders = List.copyOf(placeholders);
+        this.beanReferences = List.copyOf(beanReferences);
+    }
+
+    public static boolean isExpression(String value) {
+        return value.startsWith("#{") && value.endsWith("}");
+    }
+
+    // 解析失败时抛出 ExpressionException
+    public static Expression parse(String value) {
+        return ExpressionParser.parse(value);
+    }
+
+    @Nullable
+    public Object getValue(EvaluationContext ctx) {
+        try {
+            return root.eval(ctx);
+        }catch (ExpressionException e) {
+            throw new ExpressionException(e.getMessage() + " Expression: " + source, e.getCause());
+        }
+    }
+
+    // 转换为注入点类型：数值之间无损转换，其他类型返回值本身，由调用方按字符串转换
+    @Nullable
+    public static Object coerce(@Nullable Object value, Class<?> type) {
+        return Operations.coerce(value, type);
+    }
+
+    public boolean isConstant() {
+        return root instanceof Node.Literal;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    // 表达式中出现的 ${...}，按出现顺序
+    public List<String> getPlaceholders() {
+        return placeholders;
+    }
+
+    // 表达式中引用的 Bean 名称
+    public List<String> getBeanReferences() {
+        return beanReferences;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
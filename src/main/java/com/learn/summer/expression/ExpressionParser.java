@@ -0,0 +1,337 @@
+package com.learn.summer.expression;
+
+import com.learn.summer.exception.ExpressionException;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 递归下降解析，优先级从低到高：?: 与 ? :、||、&&、== !=、< <= > >=、+ -、* / %、一元 ! -、成员访问和下标
+final class ExpressionParser {
+    private final String source;
+    private final String text;
+    private int pos;
+    private final List<String> placeholders = new ArrayList<>();
+    private final List<String> beanReferences = new ArrayList<>();
+
+    private ExpressionParser(String source) {
+        this.source = source;
+        this.text = source.substring(2, source.length() - 1);
+    }
+
+    static Expression parse(String source) {
+        if(!Expression.isExpression(source))
+            throw new ExpressionException("Expression must be in the form #{...}: " + source);
+        ExpressionParser parser = new ExpressionParser(source);
+        Node root = parser.parseTernary();
+        parser.skipSpaces();
+        if(parser.pos < parser.text.length())
+            throw parser.error("unexpected '" + parser.text.charAt(parser.pos) + "'");
+        return new Expression(source, root, parser.placeholders, parser.beanReferences);
+    }
+
+    Node parseTernary() {
+        Node condition = parseOr();
+        if(accept("?:")) {
+            Node fallback = parseTernary();
+            return fold(ctx -> {
+                Object v = condition.eval(ctx);
+                return v != null ? v : fallback.eval(ctx);
+            }, condition, fallback);
+        }
+        if(accept("?")) {
+            Node whenTrue = parseTernary();
+            expect(":");
+            Node whenFalse = parseTernary();
+            return fold(ctx -> Operations.bool("?", condition.eval(ctx))
+                    ? whenTrue.eval(ctx) : whenFalse.eval(ctx), condition, whenTrue, whenFalse);
+        }
+        return condition;
+    }
+
+    Node parseOr() {
+        Node left = parseAnd();
+        while(accept("||")) {
+            Node l = left;
+            Node r = parseAnd();
+            left = fold(ctx -> Operations.bool("||", l.eval(ctx)) || Operations.bool("||", r.eval(ctx)), l, r);
+        }
+        return left;
+    }
+
+    Node parseAnd() {
+        Node left = parseEquality();
+        while(accept("&&")) {
+            Node l = left;
+            Node r = parseEquality();
+            left = fold(ctx -> Operations.bool("&&", l.eval(ctx)) && Operations.bool("&&", r.eval(ctx)), l, r);
+        }
+        return left;
+    }
+
+    Node parseEquality() {
+        Node left = parseRelational();
+        while(true) {
+            Node l = left;
+            if(accept("==")) {
+                Node r = parseRelational();
+                left = fold(ctx -> Operations.equal(l.eval(ctx), r.eval(ctx)), l, r);
+            } else if(accept("!=")) {
+                Node r = parseRelational();
+                left = fold(ctx -> !Operations.equal(l.eval(ctx), r.eval(ctx)), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    Node parseRelational() {
+        Node left = parseAdditive();
+        while(true) {
+            Node l = left;
+            if(accept("<=")) {
+                Node r = parseAdditive();
+                left = fold(ctx -> Operations.compare("<=", l.eval(ctx), r.eval(ctx)) <= 0, l, r);
+            } else if(accept(">=")) {
+                Node r = parseAdditive();
+                left = fold(ctx -> Operations.compare(">=", l.eval(ctx), r.eval(ctx)) >= 0, l, r);
+            } else if(accept("<")) {
+                Node r = parseAdditive();
+                left = fold(ctx -> Operations.compare("<", l.eval(ctx), r.eval(ctx)) < 0, l, r);
+            } else if(accept(">")) {
+                Node r = parseAdditive();
+                left = fold(ctx -> Operations.compare(">", l.eval(ctx), r.eval(ctx)) > 0, l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    Node parseAdditive() {
+        Node left = parseMultiplicative();
+        while(true) {
+            Node l = left;
+            if(accept("+")) {
+                Node r = parseMultiplicative();
+                left = fold(ctx -> Operations.add(l.eval(ctx), r.eval(ctx)), l, r);
+            } else if(accept("-")) {
+                Node r = parseMultiplicative();
+                left = fold(ctx -> Operations.arithmetic('-', l.eval(ctx), r.eval(ctx)), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    Node parseMultiplicative() {
+        Node left = parseUnary();
+        while(true) {
+            skipSpaces();
+            if(pos >= text.length())
+                return left;
+            char op = text.charAt(pos);
+            if(op != '*' && op != '/' && op != '%')
+                return left;
+            pos++;
+            Node l = left;
+            Node r = parseUnary();
+            left = fold(ctx -> Operations.arithmetic(op, l.eval(ctx), r.eval(ctx)), l, r);
+        }
+    }
+
+    Node parseUnary() {
+        if(accept("!")) {
+            Node operand = parseUnary();
+            return fold(ctx -> !Operations.bool("!", operand.eval(ctx)), operand);
+        }
+        if(accept("-")) {
+            Node operand = parseUnary();
+            return fold(ctx -> Operations.negate(operand.eval(ctx)), operand);
+        }
+        return parsePostfix();
+    }
+
+    Node parsePostfix() {
+        Node node = parsePrimary();
+        while(true) {
+            if(accept("?.")) {
+                node = parseMember(node, true);
+            } else if(accept(".")) {
+                node = parseMember(node, false);
+            } else if(accept("[")) {
+                Node target = node;
+                Node index = parseTernary();
+                expect("]");
+                node = ctx -> index(target.eval(ctx), index.eval(ctx));
+            } else {
+                return node;
+            }
+        }
+    }
+
+    Node parseMember(Node target, boolean nullSafe) {
+        String name = parseIdentifier();
+        Node[] args = null;
+        if(accept("(")) {
+            List<Node> list = new ArrayList<>();
+            if(!accept(")")) {
+                do {
+                    list.add(parseTernary());
+                } while(accept(","));
+                expect(")");
+            }
+            args = list.toArray(Node[]::new);
+        }
+        return new MemberAccess(target, name, args, nullSafe);
+    }
+
+    Node parsePrimary() {
+        skipSpaces();
+        if(pos >= text.length())
+            throw error("unexpected end");
+        char c = text.charAt(pos);
+        if(accept("(")) {
+            Node node = parseTernary();
+            expect(")");
+            return node;
+        }
+        if(c >= '0' && c <= '9')
+            return parseNumber();
+        if(c == '\'' || c == '"')
+            return new Node.Literal(parseString(c));
+        if(text.startsWith("${", pos))
+            return parsePlaceholder();
+        if(c == '@') {
+            pos++;
+            String name = parseIdentifier();
+            beanReferences.add(name);
+            return ctx -> ctx.getBean(name);
+        }
+        int start = pos;
+        String word = parseIdentifier();
+        return switch (word) {
+            case "true" -> new Node.Literal(Boolean.TRUE);
+            case "false" -> new Node.Literal(Boolean.FALSE);
+            case "null" -> new Node.Literal(null);
+            default -> {
+                pos = start;
+                throw error("unknown identifier '" + word + "'");
+            }
+        };
+    }
+
+    Node parseNumber() {
+        int start = pos;
+        while(pos < text.length() && Character.isDigit(text.charAt(pos)))
+            pos++;
+        boolean decimal = false;
+        // 小数点后须是数字，否则是成员访问
+        if(pos + 1 < text.length() && text.charAt(pos) == '.' && Character.isDigit(text.charAt(pos + 1))) {
+            decimal = true;
+            pos++;
+            while(pos < text.length() && Character.isDigit(text.charAt(pos)))
+                pos++;
+        }
+        String number = text.substring(start, pos);
+        try {
+            return new Node.Literal(decimal ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number));
+        }catch (NumberFormatException e) {
+            pos = start;
+            throw error("invalid number " + number);
+        }
+    }
+
+    // 引号内连续两个引号表示一个引号
+    String parseString(char quote) {
+        int start = pos++;
+        StringBuilder sb = new StringBuilder();
+        while(pos < text.length()) {
+            char c = text.charAt(pos++);
+            if(c != quote) {
+                sb.append(c);
+            } else if(pos < text.length() && text.charAt(pos) == quote) {
+                sb.append(quote);
+                pos++;
+            } else {
+                return sb.toString();
+            }
+        }
+        pos = start;
+        throw error("unterminated string");
+    }
+
+    // ${key} 或 ${key:default}，每次求值时读取配置，以便配置刷新后生效
+    Node parsePlaceholder() {
+        int end = text.indexOf('}', pos);
+        if(end < 0)
+            throw error("unterminated ${");
+        String placeholder = text.substring(pos, end + 1);
+        pos = end + 1;
+        placeholders.add(placeholder);
+        return ctx -> Operations.literal(ctx.getProperty(placeholder));
+    }
+
+    String parseIdentifier() {
+        skipSpaces();
+        int start = pos;
+        while(pos < text.length() && (pos == start ? Character.isJavaIdentifierStart(text.charAt(pos))
+                : Character.isJavaIdentifierPart(text.charAt(pos))))
+            pos++;
+        if(start == pos)
+            throw error("identifier expected");
+        return text.substring(start, pos);
+    }
+
+    static Object index(Object target, Object index) {
+        if(target == null)
+            throw new ExpressionException("Cannot index null.");
+        if(target instanceof Map<?, ?> map)
+            return map.get(index);
+        int i = Operations.number('[', index).intValue();
+        if(target instanceof List<?> list)
+            return list.get(i);
+        if(target instanceof CharSequence s)
+            return String.valueOf(s.charAt(i));
+        if(target.getClass().isArray())
+            return Array.get(target, i);
+        throw new ExpressionException("Cannot index " + Operations.describe(target) + ".");
+    }
+
+    // 操作数都是常量时在编译期求值；求值出错时保留节点，到运行期再报错
+    static Node fold(Node node, Node... operands) {
+        for(Node operand : operands) {
+            if(!(operand instanceof Node.Literal))
+                return node;
+        }
+        try {
+            return new Node.Literal(node.eval(null));
+        }catch (ExpressionException e) {
+            return node;
+        }
+    }
+
+    boolean accept(String token) {
+        skipSpaces();
+        if(text.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    void expect(String token) {
+        if(!accept(token))
+            throw error("'" + token + "' expected");
+    }
+
+    void skipSpaces() {
+        while(pos < text.length() && Character.isWhitespace(text.charAt(pos)))
+            pos++;
+    }
+
+    ExpressionException error(String message) {
+        return new ExpressionException(String.format("Invalid expression %s at position %d: %s.", source,
+                pos + 2, message));
+    }
+}
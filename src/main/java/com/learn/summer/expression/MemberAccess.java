@@ -0,0 +1,141 @@
+package com.learn.summer.expression;
+
+import com.learn.summer.exception.ExpressionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+// 属性（target.name）或方法调用（target.name(args)）。首次求值时按接收者类型解析为 MethodHandle，
+// 统一为 (Object)Object 或 (Object, Object[])Object 后缓存在节点上；接收者类型变化时重新解析（单态内联缓存）
+final class MemberAccess implements Node {
+    static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private final Node target;
+    private final String name;
+    // 属性访问时为 null
+    private final Node[] args;
+    // ?. 访问，接收者为 null 时结果为 null
+    private final boolean nullSafe;
+    private volatile Site site;
+
+    // 参数类型用于求值后的数值转换
+    record Site(Class<?> type, MethodHandle handle, Class<?>[] parameterTypes) {}
+
+    MemberAccess(Node target, String name, Node[] args, boolean nullSafe) {
+        this.target = target;
+        this.name = name;
+        this.args = args;
+        this.nullSafe = nullSafe;
+    }
+
+    @Override
+    public Object eval(EvaluationContext ctx) {
+        Object receiver = target.eval(ctx);
+        if(receiver == null) {
+            if(nullSafe)
+                return null;
+            throw new ExpressionException("Cannot access '" + name + "' on null.");
+        }
+        if(args == null && receiver instanceof Map<?, ?> map)
+            return map.get(name);
+        Object[] values = null;
+        if(args != null) {
+            values = new Object[args.length];
+            for(int i = 0; i < args.length; i++)
+                values[i] = args[i].eval(ctx);
+        }
+        Site s = this.site;
+        if(s == null || s.type() != receiver.getClass() || values != null && !matches(s, values)) {
+            s = resolve(receiver.getClass(), values);
+            this.site = s;
+        }
+        try {
+            // 无参方法不经过 spreader
+            if(values == null || values.length == 0)
+                return (Object) s.handle().invokeExact(receiver);
+            for(int i = 0; i < values.length; i++)
+                values[i] = Operations.coerce(values[i], s.parameterTypes()[i]);
+            return (Object) s.handle().invokeExact(receiver, values);
+        }catch (ExpressionException e) {
+            throw e;
+        }catch (Throwable e) {
+            throw new ExpressionException(String.format("Exception when access '%s' on %s.", name,
+                    receiver.getClass().getName()), e);
+        }
+    }
+
+    static boolean matches(Site s, Object[] values) {
+        for(int i = 0; i < values.length; i++) {
+            if(!Operations.isCompatible(values[i], s.parameterTypes()[i]))
+                return false;
+        }
+        return true;
+    }
+
+    Site resolve(Class<?> type, Object[] values) {
+        if(values != null) {
+            for(Method m : type.getMethods()) {
+                if(m.getName().equals(name) && m.getParameterCount() == values.length && !m.isVarArgs()
+                        && !Modifier.isStatic(m.getModifiers())) {
+                    Site s = site(type, m);
+                    if(s != null && matches(s, values))
+                        return s;
+                }
+            }
+            throw new ExpressionException(String.format("No public method %s(%d args) matching %s in %s.", name,
+                    values.length, Arrays.toString(values), type.getName()));
+        }
+        // getter、is 方法、同名无参方法（record 组件、length() 等），最后是 public 字段
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for(String candidate : List.of("get" + suffix, "is" + suffix, name)) {
+            try {
+                Method m = type.getMethod(candidate);
+                Site s = m.getReturnType() == void.class || Modifier.isStatic(m.getModifiers()) ? null : site(type, m);
+                if(s != null)
+                    return s;
+            }catch (NoSuchMethodException e) {
+                // 继续查找
+            }
+        }
+        try {
+            Field f = type.getField(name);
+            if(Modifier.isStatic(f.getModifiers()))
+                throw new NoSuchFieldException(name);
+            MethodHandle h = LOOKUP.unreflectGetter(f);
+            return new Site(type, h.asType(MethodType.methodType(Object.class, Object.class)), new Class<?>[0]);
+        }catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExpressionException(String.format("No readable property '%s' in %s.", name, type.getName()));
+        }
+    }
+
+    // 方法所在类不可访问时（如 JDK 内部实现类、Bean 的代理类）改用可访问的父类或接口中声明的同一方法
+    static Site site(Class<?> type, Method m) {
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        Set<Class<?>> visited = new HashSet<>();
+        while(!queue.isEmpty()) {
+            Class<?> c = queue.poll();
+            if(!visited.add(c))
+                continue;
+            try {
+                MethodHandle h = LOOKUP.unreflect(c.getMethod(m.getName(), m.getParameterTypes()));
+                int n = m.getParameterCount();
+                MethodHandle generic = h.asType(MethodType.genericMethodType(n + 1));
+                if(n > 0)
+                    generic = generic.asSpreader(Object[].class, n);
+                return new Site(type, generic, m.getParameterTypes());
+            }catch (NoSuchMethodException | IllegalAccessException e) {
+                // 尝试父类型
+            }
+            if(c.getSuperclass() != null)
+                queue.add(c.getSuperclass());
+            queue.addAll(Arrays.asList(c.getInterfaces()));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.learn.summer.expression;
+
+// 编译后的表达式节点，子节点在编译时已确定，求值时不再查看源码
+@FunctionalInterface
+interface Node {
+    Object eval(EvaluationContext ctx);
+
+    // 常量，子节点全为常量的运算在编译时折叠为常量
+    record Literal(Object value) implements Node {
+        @Override
+        public Object eval(EvaluationContext ctx) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.learn.summer.expression;
+
+import com.learn.summer.exception.ExpressionException;
+
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+
+// 运算符语义：整数（Long、Integer、Short、Byte）之间按 long 计算，其他数值按 double；
+// + 的任一侧为字符串时拼接；配置值按字面量解析为 Long、Double、Boolean 或 String
+final class Operations {
+    private Operations() {}
+
+    static Object add(Object a, Object b) {
+        if(a instanceof CharSequence || b instanceof CharSequence || a instanceof Character || b instanceof Character)
+            return String.valueOf(a) + b;
+        return arithmetic('+', a, b);
+    }
+
+    static Object arithmetic(char op, Object a, Object b) {
+        Number x = number(op, a);
+        Number y = number(op, b);
+        if(isIntegral(x) && isIntegral(y)) {
+            long l = x.longValue();
+            long r = y.longValue();
+            if((op == '/' || op == '%') && r == 0)
+                throw new ExpressionException("Division by zero.");
+            try {
+                return switch (op) {
+                    case '+' -> Math.addExact(l, r);
+                    case '-' -> Math.subtractExact(l, r);
+                    case '*' -> Math.multiplyExact(l, r);
+                    case '/' -> l / r;
+                    default -> l % r;
+                };
+            }catch (ArithmeticException e) {
+                throw new ExpressionException(String.format("Long overflow: %d %c %d.", l, op, r));
+            }
+        }
+        double l = x.doubleValue();
+        double r = y.doubleValue();
+        return switch (op) {
+            case '+' -> l + r;
+            case '-' -> l - r;
+            case '*' -> l * r;
+            case '/' -> l / r;
+            default -> l % r;
+        };
+    }
+
+    static Object negate(Object v) {
+        Number n = number('-', v);
+        if(!isIntegral(n))
+            return -n.doubleValue();
+        if(n.longValue() == Long.MIN_VALUE)
+            throw new ExpressionException("Long overflow: -" + n + ".");
+        return -n.longValue();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(String op, Object a, Object b) {
+        if(a instanceof Number x && b instanceof Number y)
+            return isIntegral(x) && isIntegral(y) ? Long.compare(x.longValue(), y.longValue())
+                    : Double.compare(x.doubleValue(), y.doubleValue());
+        if(a instanceof Comparable c && b != null && a.getClass() == b.getClass())
+            return c.compareTo(b);
+        throw new ExpressionException(String.format("Operator '%s' cannot compare %s and %s.", op,
+                describe(a), describe(b)));
+    }
+
+    static boolean equal(Object a, Object b) {
+        if(a instanceof Number x && b instanceof Number y)
+            return compare("==", x, y) == 0;
+        return Objects.equals(a, b);
+    }
+
+    static boolean bool(String op, Object v) {
+        if(v instanceof Boolean b)
+            return b;
+        throw new ExpressionException(String.format("Operator '%s' requires a boolean, got %s.", op, describe(v)));
+    }
+
+    static Number number(char op, Object v) {
+        if(v instanceof Number n)
+            return n;
+        throw new ExpressionException(String.format("Operator '%s' requires a number, got %s.", op, describe(v)));
+    }
+
+    static boolean isIntegral(Number n) {
+        return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+    }
+
+    static String describe(Object v) {
+        return v == null ? "null" : v.getClass().getSimpleName() + " '" + v + "'";
+    }
+
+    // 配置值按字面量解析，逐字符判断，不使用正则
+    static Object literal(String s) {
+        if(s == null)
+            return null;
+        String t = s.trim();
+        if(t.equals("true") || t.equals("false"))
+            return Boolean.valueOf(t);
+        int i = t.startsWith("-") ? 1 : 0;
+        if(i == t.length())
+            return s;
+        boolean dot = false;
+        for(; i < t.length(); i++) {
+            char c = t.charAt(i);
+            if(c == '.' && !dot && i > 0 && i < t.length() - 1)
+                dot = true;
+            else if(c < '0' || c > '9')
+                return s;
+        }
+        try {
+            return dot ? (Object) Double.parseDouble(t) : (Object) Long.parseLong(t);
+        }catch (NumberFormatException e) {
+            // 超出 long 范围
+            return Double.parseDouble(t);
+        }
+    }
+
+    static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    // 数值转换为目标数值类型，单字符字符串转换为 char，其他情况原样返回；数值超出范围或丢失小数部分时报错
+    static Object coerce(Object v, Class<?> type) {
+        Class<?> target = wrap(type);
+        if(v == null || target.isInstance(v))
+            return v;
+        if(v instanceof Number n && isNumeric(target)) {
+            Number converted = convertNumber(n, target);
+            if(converted == null)
+                throw new ExpressionException(String.format("Cannot convert %s to %s without loss.", describe(v),
+                        type.getName()));
+            return converted;
+        }
+        if(target == Character.class && v instanceof String s && s.length() == 1)
+            return s.charAt(0);
+        if(target == String.class && (v instanceof Number || v instanceof Boolean || v instanceof Character))
+            return String.valueOf(v);
+        return v;
+    }
+
+    static boolean isNumeric(Class<?> target) {
+        return target == Long.class || target == Integer.class || target == Short.class || target == Byte.class
+                || target == Double.class || target == Float.class;
+    }
+
+    // 无损转换，否则返回 null；float 只检查范围，精度按最接近的 float 取舍
+    static Number convertNumber(Number n, Class<?> target) {
+        if(target == Double.class) {
+            if(!isIntegral(n))
+                return n.doubleValue();
+            long l = n.longValue();
+            double d = l;
+            return d >= 0x1p63 || (long) d != l ? null : d;
+        }
+        if(target == Float.class) {
+            double d = n.doubleValue();
+            float f = (float) d;
+            return Float.isInfinite(f) && !Double.isInfinite(d) ? null : f;
+        }
+        long l;
+        if(isIntegral(n)) {
+            l = n.longValue();
+        } else {
+            double d = n.doubleValue();
+            if(d != Math.rint(d) || d < -0x1p63 || d >= 0x1p63)
+                return null;
+            l = (long) d;
+        }
+        if(target == Long.class)
+            return l;
+        if(target == Integer.class)
+            return l == (int) l ? (Number) (int) l : null;
+        if(target == Short.class)
+            return l == (short) l ? (Number) (short) l : null;
+        return l == (byte) l ? (Number) (byte) l : null;
+    }
+
+    // 方法参数匹配：同类型、数值之间的无损转换或单字符字符串到 char，不做到字符串的转换
+    static boolean isCompatible(Object v, Class<?> type) {
+        if(v == null)
+            return !type.isPrimitive();
+        Class<?> target = wrap(type);
+        if(target.isInstance(v))
+            return true;
+        if(v instanceof Number n && isNumeric(target))
+            return convertNumber(n, target) != null;
+        if(target == Character.class)
+            return target.isInstance(coerce(v, type));
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.learn.summer.io;
+
+import com.learn.summer.utils.YamlUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.*;
+
+// 加载 application.yml，再按激活顺序叠加 application-{profile}.yml，后加载的覆盖先加载的
+public class ApplicationConfigLoader {
+    public static final String ACTIVE_PROFILES_KEY = "summer.profiles.active";
+    static final String CONFIG_NAME = "application";
+
+    static final Logger logger = LoggerFactory.getLogger(ApplicationConfigLoader.class);
+
+    public static PropertyResolver load() {
+        return load(new Properties());
+    }
+
+    // overrides 优先级最高，也可以在其中指定 summer.profiles.active
+    public static PropertyResolver load(Properties overrides) {
+        Properties props = new Properties();
+        putAll(props, loadIfExists(CONFIG_NAME + ".yml"));
+        String active = overrides.getProperty(ACTIVE_PROFILES_KEY,
+                System.getProperty(ACTIVE_PROFILES_KEY, props.getProperty(ACTIVE_PROFILES_KEY)));
+        List<String> profiles = parseProfiles(active);
+        for(String profile : profiles) {
+            Map<String, Object> layer = loadIfExists(CONFIG_NAME + "-" + profile + ".yml");
+            putAll(props, layer);
+        }
+        props.putAll(overrides);
+        if(!profiles.isEmpty())
+            props.setProperty(ACTIVE_PROFILES_KEY, String.join(",", profiles));
+        logger.info("active profiles: {}", profiles);
+        return new PropertyResolver(props);
+    }
+
+    public static List<String> parseProfiles(String profiles) {
+        if(profiles == null || profiles.isBlank())
+            return List.of();
+        return Arrays.stream(profiles.split(",")).map(String::strip).filter(s -> !s.isEmpty())
+                .distinct().toList();
+    }
+
+    static Map<String, Object> loadIfExists(String path) {
+        try {
+            Map<String, Object> config = YamlUtils.loadYamlAsPlain(path);
+            logger.atDebug().log("load config: {}", path);
+            return config;
+        }catch (UncheckedIOException e) {
+            logger.atDebug().log("config not found: {}", path);
+            return Map.of();
+        }
+    }
+
+    // 列表转为逗号分隔的字符串
+    static void putAll(Properties props, Map<String, Object> config) {
+        config.forEach((key, value) -> props.setProperty(key, value instanceof List<?> list
+                ? String.join(",", list.stream().map(String::valueOf).toList()) : value.toString()));
+    }
+}
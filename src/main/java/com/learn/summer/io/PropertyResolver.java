@@ -116,14 +116,15 @@ public class PropertyResolver {
     }
 
     @SuppressWarnings("unchecked")
-    <T> T convert(Class<T> clazz, String value) {
+    public <T> T convert(Class<T> clazz, String value) {
         Function<String, Object> fn = converters.get(clazz);
         if(fn == null)
             throw new IllegalArgumentException("Unsupported value type: " + clazz.getName());
         return (T) fn.apply(value);
     }
 
-    String parseValue(String value) {
+    // 解析 ${key} 或 ${key:value}，其余原样返回
+    public String parseValue(String value) {
         PropertyExpr expr = parsePropertyExpr(value);
         if(expr == null)
             return value;
@@ -0,0 +1,10 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// 创建 BeanDefinition
+@Name("summer.BeanDefinition")
+@Label("Bean Definition")
+public class BeanDefinitionEvent extends BeanEvent {
+}
@@ -0,0 +1,10 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// 调用 destroy 方法
+@Name("summer.BeanDestroy")
+@Label("Bean Destroy")
+public class BeanDestroyEvent extends BeanEvent {
+}
@@ -0,0 +1,17 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// 容器事件的公共字段，未录制时 commit() 不做任何事
+@Category({"Summer", "Container"})
+@StackTrace(false)
+public abstract class BeanEvent extends Event {
+    @Label("Bean Name")
+    public String beanName;
+
+    @Label("Bean Class")
+    public Class<?> beanClass;
+}
@@ -0,0 +1,10 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// 调用 init 方法
+@Name("summer.BeanInit")
+@Label("Bean Init")
+public class BeanInitEvent extends BeanEvent {
+}
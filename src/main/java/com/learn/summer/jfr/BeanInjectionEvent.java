@@ -0,0 +1,10 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// 字段和 Setter 注入
+@Name("summer.BeanInjection")
+@Label("Bean Injection")
+public class BeanInjectionEvent extends BeanEvent {
+}
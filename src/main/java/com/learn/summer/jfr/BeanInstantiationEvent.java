@@ -0,0 +1,10 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// 调用构造方法或工厂方法创建实例
+@Name("summer.BeanInstantiation")
+@Label("Bean Instantiation")
+public class BeanInstantiationEvent extends BeanEvent {
+}
@@ -0,0 +1,16 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.*;
+
+// 扫描一个包
+@Name("summer.ComponentScan")
+@Label("Component Scan")
+@Category({"Summer", "Container"})
+@StackTrace(false)
+public class ComponentScanEvent extends Event {
+    @Label("Package")
+    public String packageName;
+
+    @Label("Class Count")
+    public int classCount;
+}
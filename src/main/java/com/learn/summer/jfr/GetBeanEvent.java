@@ -0,0 +1,14 @@
+package com.learn.summer.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+// getBean() 调用频繁，只记录超过阈值的查找，阈值可在 JFR 配置中调整
+@Name("summer.GetBean")
+@Label("Get Bean")
+@Threshold("20 us")
+public class GetBeanEvent extends BeanEvent {
+    @Label("Required Type")
+    public Class<?> requiredType;
+}
@@ -0,0 +1,59 @@
+package com.learn.summer.limit;
+
+import com.learn.summer.exception.LimitExceededException;
+import com.learn.summer.metrics.Counter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 并发数限制：非公平 Semaphore 的 tryAcquire/release 只有 CAS，只有需要等待时才进入 AQS 队列挂起，
+// 虚拟线程挂起时不占用载体线程
+public class ConcurrencyLimiter {
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public ConcurrencyLimiter(String name, int maxConcurrent, long maxWaitNanos, Counter rejected) {
+        if(maxConcurrent < 1 || maxWaitNanos < 0)
+            throw new IllegalArgumentException(String.format("Invalid bulkhead %s: maxConcurrent = %d, maxWait = %d ns",
+                    name, maxConcurrent, maxWaitNanos));
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWaitNanos;
+        this.permits = new Semaphore(maxConcurrent);
+        this.rejected = rejected;
+    }
+
+    // 成功后须调用 release()
+    public void acquire() {
+        if(permits.tryAcquire())
+            return;
+        boolean acquired = false;
+        if(maxWaitNanos > 0) {
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            }catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if(!acquired) {
+            rejected.increment();
+            throw new LimitExceededException(String.format("Bulkhead %s is full (max %d concurrent calls).",
+                    name, maxConcurrent));
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
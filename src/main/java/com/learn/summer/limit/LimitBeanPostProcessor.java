@@ -0,0 +1,134 @@
+package com.learn.summer.limit;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Bulkhead;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.RateLimited;
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.metrics.MeterRegistry;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 为带有 @Bulkhead/@RateLimited 的 Bean 创建代理，先取令牌再占并发数，通过 @Import 启用。
+// 拒绝次数记录为 summer.bulkhead.rejected 和 summer.ratelimit.rejected，类上声明的限制 method 标签为 *
+@Component
+public class LimitBeanPostProcessor extends ProxyBeanPostProcessor {
+    static final String ALL_METHODS = "*";
+
+    final MeterRegistry registry;
+    final PropertyResolver resolver;
+    // 按 beanName.method 共享，作用域 Bean 的各个副本受同一个限制
+    final Map<String, ConcurrencyLimiter> bulkheads = new ConcurrentHashMap<>();
+    final Map<String, TokenBucket> rates = new ConcurrentHashMap<>();
+
+    public LimitBeanPostProcessor(@Autowired MeterRegistry registry, @Autowired PropertyResolver resolver) {
+        this.registry = registry;
+        this.resolver = resolver;
+    }
+
+    // 方法的限制，不限制时为 null
+    record Limits(TokenBucket rate, ConcurrencyLimiter bulkhead) {}
+
+    @Override
+    public boolean supports(BeanDefinition def) {
+        Class<?> beanClass = def.getBeanClass();
+        return isLimited(beanClass) || Arrays.stream(beanClass.getMethods()).anyMatch(this::isLimited);
+    }
+
+    boolean isLimited(AnnotatedElement element) {
+        return element.isAnnotationPresent(Bulkhead.class) || element.isAnnotationPresent(RateLimited.class);
+    }
+
+    @Override
+    protected InvocationHandler createHandler(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        // 类上的限制由全部方法共用
+        Bulkhead classBulkhead = beanClass.getAnnotation(Bulkhead.class);
+        RateLimited classRate = beanClass.getAnnotation(RateLimited.class);
+        ConcurrencyLimiter sharedBulkhead = classBulkhead == null ? null
+                : createBulkhead(beanName, ALL_METHODS, classBulkhead);
+        TokenBucket sharedRate = classRate == null ? null : createRate(beanName, ALL_METHODS, classRate);
+
+        Map<Method, Limits> limits = new HashMap<>();
+        for(Class<?> i : getProxyInterfaces(beanClass)) {
+            for(Method m : i.getMethods()) {
+                Method impl = getImplementation(beanClass, m);
+                Bulkhead bulkhead = impl.getAnnotation(Bulkhead.class);
+                RateLimited rate = impl.getAnnotation(RateLimited.class);
+                Limits l = new Limits(rate != null ? createRate(beanName, m.getName(), rate) : sharedRate,
+                        bulkhead != null ? createBulkhead(beanName, m.getName(), bulkhead) : sharedBulkhead);
+                if(l.rate() != null || l.bulkhead() != null)
+                    limits.put(m, l);
+            }
+        }
+        if(limits.isEmpty())
+            return null;
+        return (proxy, method, args) -> {
+            Limits l = limits.get(method);
+            if(l == null)
+                return invokeTarget(bean, method, args);
+            if(l.rate() != null)
+                l.rate().acquire();
+            if(l.bulkhead() == null)
+                return invokeTarget(bean, method, args);
+            l.bulkhead().acquire();
+            try {
+                return invokeTarget(bean, method, args);
+            } finally {
+                l.bulkhead().release();
+            }
+        };
+    }
+
+    ConcurrencyLimiter createBulkhead(String beanName, String method, Bulkhead bulkhead) {
+        return bulkheads.computeIfAbsent(beanName + "." + method, name -> newBulkhead(name, beanName, method, bulkhead));
+    }
+
+    ConcurrencyLimiter newBulkhead(String name, String beanName, String method, Bulkhead bulkhead) {
+        try {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(name, Integer.parseInt(resolve(bulkhead.maxConcurrent())),
+                    millisToNanos(resolve(bulkhead.maxWait())),
+                    registry.counter("summer.bulkhead.rejected", "bean", beanName, "method", method));
+            registry.gauge("summer.bulkhead.active", limiter, ConcurrencyLimiter::getActive,
+                    "bean", beanName, "method", method);
+            return limiter;
+        }catch (IllegalArgumentException | NullPointerException e) {
+            throw new BeanCreationException("Invalid @Bulkhead on " + name, e);
+        }
+    }
+
+    TokenBucket createRate(String beanName, String method, RateLimited rateLimited) {
+        return rates.computeIfAbsent(beanName + "." + method, name -> newRate(name, beanName, method, rateLimited));
+    }
+
+    TokenBucket newRate(String name, String beanName, String method, RateLimited rateLimited) {
+        try {
+            double rate = Double.parseDouble(resolve(rateLimited.permitsPerSecond()));
+            String burst = resolve(rateLimited.burst());
+            int capacity = burst.isEmpty() ? Math.max((int) rate, 1) : Integer.parseInt(burst);
+            return new TokenBucket(name, rate, capacity, millisToNanos(resolve(rateLimited.maxWait())),
+                    registry.counter("summer.ratelimit.rejected", "bean", beanName, "method", method));
+        }catch (IllegalArgumentException | NullPointerException e) {
+            throw new BeanCreationException("Invalid @RateLimited on " + name, e);
+        }
+    }
+
+    // 数字直接使用，${key} 和 ${key:value} 从配置读取，缺少配置时抛出 NullPointerException
+    String resolve(String value) {
+        return resolver.parseValue(value.trim()).trim();
+    }
+
+    static long millisToNanos(String millis) {
+        return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(millis));
+    }
+}
@@ -0,0 +1,70 @@
+package com.learn.summer.limit;
+
+import com.learn.summer.exception.LimitExceededException;
+import com.learn.summer.metrics.Counter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 令牌桶，按 GCRA 只保存一个时间点：next 为桶重新装满的时刻，每个令牌使 next 推后 interval，
+// next - now 不超过 capacity * interval 时还有令牌。获取令牌是一次 CAS，不加锁，也没有后台补充线程；
+// 需要等待时先用 CAS 预订令牌，再睡眠到令牌可用
+public class TokenBucket {
+    private final String name;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxWaitNanos;
+    private final AtomicLong next;
+    private final Counter rejected;
+
+    public TokenBucket(String name, double permitsPerSecond, int capacity, long maxWaitNanos, Counter rejected) {
+        if(!(permitsPerSecond > 0) || capacity < 1 || maxWaitNanos < 0)
+            throw new IllegalArgumentException(String.format("Invalid rate limit %s: permitsPerSecond = %s, " +
+                    "burst = %d, maxWait = %d ns", name, permitsPerSecond, capacity, maxWaitNanos));
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = Math.max((long) (1e9 / permitsPerSecond), 1);
+        this.toleranceNanos = intervalNanos * capacity;
+        this.maxWaitNanos = maxWaitNanos;
+        // 初始为满桶
+        this.next = new AtomicLong(System.nanoTime());
+        this.rejected = rejected;
+    }
+
+    public void acquire() {
+        long wait = reserve();
+        if(wait < 0) {
+            rejected.increment();
+            throw new LimitExceededException(String.format("Rate limit %s exceeded (%s permits per second).",
+                    name, permitsPerSecond));
+        }
+        if(wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new LimitExceededException("Interrupted while waiting for rate limit " + name + ".");
+            }
+        }
+    }
+
+    // 返回需要等待的纳秒数，超过 maxWait 时返回 -1 且不占用令牌
+    long reserve() {
+        while(true) {
+            long now = System.nanoTime();
+            long current = next.get();
+            long updated = Math.max(current, now) + intervalNanos;
+            long wait = Math.max(updated - now - toleranceNanos, 0);
+            if(wait > maxWaitNanos)
+                return -1;
+            if(next.compareAndSet(current, updated))
+                return wait;
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
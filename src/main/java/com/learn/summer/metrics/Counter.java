@@ -0,0 +1,32 @@
+package com.learn.summer.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// 只增不减的计数
+public class Counter implements Meter {
+    private final MeterId id;
+    private final LongAdder count = new LongAdder();
+
+    Counter(MeterId id) {
+        this.id = id;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void increment(long amount) {
+        if(amount < 0)
+            throw new IllegalArgumentException("Counter " + id + " cannot be decreased: " + amount);
+        count.add(amount);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.learn.summer.metrics;
+
+// 任意非负数值（如请求大小）的分布
+public class DistributionSummary implements Meter {
+    private final MeterId id;
+    private final Histogram histogram = new Histogram();
+
+    DistributionSummary(MeterId id) {
+        this.id = id;
+    }
+
+    public void record(long amount) {
+        histogram.record(amount);
+    }
+
+    public long count() {
+        return snapshot().count();
+    }
+
+    public Histogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.learn.summer.metrics;
+
+import java.util.function.DoubleSupplier;
+
+// 读取时才计算的瞬时值
+public class Gauge implements Meter {
+    private final MeterId id;
+    private final DoubleSupplier supplier;
+
+    Gauge(MeterId id, DoubleSupplier supplier) {
+        this.id = id;
+        this.supplier = supplier;
+    }
+
+    // 计算出错时返回 NaN
+    public double value() {
+        try {
+            return supplier.getAsDouble();
+        }catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+}
@@ -0,0 +1,94 @@
+package com.learn.summer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// HdrHistogram 式的对数线性直方图：每个 2 的幂区间等分为 16 个桶，相对误差不超过 1/16；
+// 按线程分为若干条带，每条带一个 AtomicLongArray，记录时无锁且不分配对象，读取时合并
+public class Histogram {
+    static final int SUB_BITS = 4;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    // 可区分的最大值约为 2^42（按纳秒计约 73 分钟），更大的值计入最后一个桶
+    static final int MAX_BIT = 42;
+    static final int BUCKET_COUNT = (MAX_BIT - SUB_BITS + 1) * SUB_COUNT + SUB_COUNT;
+    static final int STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for(int i = 0; i < STRIPES; i++)
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+    }
+
+    // 负值按 0 记录
+    public void record(long value) {
+        if(value < 0)
+            value = 0;
+        int stripe = (int) mix(Thread.currentThread().threadId()) & (STRIPES - 1);
+        stripes[stripe].incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int bucketIndex(long value) {
+        if(value < 2 * SUB_COUNT)
+            return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        if(msb > MAX_BIT)
+            return BUCKET_COUNT - 1;
+        int shift = msb - SUB_BITS;
+        return shift * SUB_COUNT + (int) (value >>> shift);
+    }
+
+    // 桶的上界（含），用于估算分位数
+    static long bucketUpperBound(int index) {
+        if(index < 2 * SUB_COUNT)
+            return index;
+        int shift = index / SUB_COUNT - 1;
+        long mantissa = index - (long) shift * SUB_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        return x ^ (x >>> 33);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for(AtomicLongArray stripe : stripes) {
+            for(int i = 0; i < BUCKET_COUNT; i++) {
+                long c = stripe.get(i);
+                counts[i] += c;
+                count += c;
+            }
+        }
+        return new Snapshot(counts, count, sum.sum(), max.get());
+    }
+
+    // 读取时各条带并非原子快照，并发记录时 count 与 sum 可能有细微差异
+    public record Snapshot(long[] counts, long count, long sum, long max) {
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // percentile 取 0 ~ 100，返回所在桶的上界，不超过记录到的最大值
+        public long valueAtPercentile(double percentile) {
+            if(count == 0)
+                return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for(int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if(seen >= rank)
+                    return Math.min(bucketUpperBound(i), max);
+            }
+            return max;
+        }
+    }
+}
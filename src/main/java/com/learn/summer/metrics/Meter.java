@@ -0,0 +1,5 @@
+package com.learn.summer.metrics;
+
+public interface Meter {
+    MeterId getId();
+}
@@ -0,0 +1,58 @@
+package com.learn.summer.metrics;
+
+import java.util.Arrays;
+
+// 指标名称和按 key 排序的标签，由 MeterRegistry 规范化并驻留，注册后直接持有对应的 Meter
+public final class MeterId {
+    private final String name;
+    // key, value 交替排列
+    private final String[] tags;
+    private final int hash;
+    volatile Meter meter;
+
+    MeterId(String name, String[] tags) {
+        this.name = name;
+        this.tags = tags;
+        this.hash = 31 * name.hashCode() + Arrays.hashCode(tags);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTagCount() {
+        return tags.length / 2;
+    }
+
+    public String getTagKey(int index) {
+        return tags[index * 2];
+    }
+
+    public String getTagValue(int index) {
+        return tags[index * 2 + 1];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MeterId other && hash == other.hash && name.equals(other.name)
+                && Arrays.equals(tags, other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        if(tags.length == 0)
+            return name;
+        StringBuilder sb = new StringBuilder(name).append('{');
+        for(int i = 0; i < tags.length; i += 2) {
+            if(i > 0)
+                sb.append(',');
+            sb.append(tags[i]).append('=').append(tags[i + 1]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,251 @@
+package com.learn.summer.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+// 按名称和标签保存指标，由容器注册为名为 meterRegistry 的 Bean，关闭时输出汇总。
+// 名称、标签和 MeterId 均驻留为唯一实例；按调用时的字符串逐级查找缓存的 MeterId，
+// 命中时不分配对象（不带标签或最多两对标签的重载方法），也可以直接持有 Meter 或 MeterId
+public class MeterRegistry {
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    static final String[] NO_TAGS = new String[0];
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<MeterId, MeterId> ids = new ConcurrentHashMap<>();
+    // 名称 -> 标签 key -> 标签 value -> ...，路径末端缓存 MeterId，同一组标签以不同顺序传入时指向同一个 MeterId
+    private final Map<String, LookupNode> roots = new ConcurrentHashMap<>();
+
+    static final class LookupNode {
+        final Map<String, LookupNode> children = new ConcurrentHashMap<>(4);
+        volatile MeterId id;
+    }
+
+    // tags 为 key, value 交替排列
+    public MeterId id(String name, String... tags) {
+        LookupNode node = root(name);
+        for(String tag : tags)
+            node = child(node, tag);
+        return resolve(node, name, tags);
+    }
+
+    public MeterId id(String name) {
+        LookupNode node = root(name);
+        MeterId id = node.id;
+        return id != null ? id : resolve(node, name, NO_TAGS);
+    }
+
+    public MeterId id(String name, String key, String value) {
+        LookupNode node = child(child(root(name), key), value);
+        MeterId id = node.id;
+        return id != null ? id : resolve(node, name, new String[] {key, value});
+    }
+
+    public MeterId id(String name, String key1, String value1, String key2, String value2) {
+        LookupNode node = child(child(child(child(root(name), key1), value1), key2), value2);
+        MeterId id = node.id;
+        return id != null ? id : resolve(node, name, new String[] {key1, value1, key2, value2});
+    }
+
+    LookupNode root(String name) {
+        LookupNode node = roots.get(name);
+        return node != null ? node : roots.computeIfAbsent(name, k -> new LookupNode());
+    }
+
+    static LookupNode child(LookupNode node, String s) {
+        LookupNode c = node.children.get(s);
+        return c != null ? c : node.children.computeIfAbsent(s, k -> new LookupNode());
+    }
+
+    MeterId resolve(LookupNode node, String name, String[] tags) {
+        MeterId id = node.id;
+        if(id == null) {
+            id = intern(name, tags);
+            node.id = id;
+        }
+        return id;
+    }
+
+    MeterId intern(String name, String[] tags) {
+        Objects.requireNonNull(name, "Meter name is null.");
+        if(tags.length % 2 != 0)
+            throw new IllegalArgumentException("Tags must be key-value pairs: " + Arrays.toString(tags));
+        // 按 key 排序
+        Integer[] order = new Integer[tags.length / 2];
+        for(int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparing(i -> tags[i * 2]));
+        String[] sorted = new String[tags.length];
+        for(int i = 0; i < order.length; i++) {
+            sorted[i * 2] = intern(tags[order[i] * 2]);
+            sorted[i * 2 + 1] = intern(tags[order[i] * 2 + 1]);
+            if(i > 0 && sorted[i * 2].equals(sorted[i * 2 - 2]))
+                throw new IllegalArgumentException("Duplicate tag key '" + sorted[i * 2] + "' for meter " + name);
+        }
+        MeterId id = new MeterId(intern(name), sorted);
+        MeterId existing = ids.putIfAbsent(id, id);
+        return existing != null ? existing : id;
+    }
+
+    String intern(String s) {
+        Objects.requireNonNull(s, "Tag is null.");
+        String existing = strings.putIfAbsent(s, s);
+        return existing != null ? existing : s;
+    }
+
+    // 同一个 MeterId 只能注册一种 Meter
+    <M extends Meter> M register(MeterId id, Class<M> type, Function<MeterId, M> factory) {
+        Meter meter = id.meter;
+        if(meter == null) {
+            synchronized (id) {
+                meter = id.meter;
+                if(meter == null) {
+                    meter = factory.apply(id);
+                    id.meter = meter;
+                }
+            }
+        }
+        if(!type.isInstance(meter))
+            throw new IllegalArgumentException(String.format("Meter %s is already registered as %s.",
+                    id, meter.getClass().getSimpleName()));
+        return type.cast(meter);
+    }
+
+    public Counter counter(MeterId id) {
+        return register(id, Counter.class, Counter::new);
+    }
+
+    public Counter counter(String name) {
+        return counter(id(name));
+    }
+
+    public Counter counter(String name, String key, String value) {
+        return counter(id(name, key, value));
+    }
+
+    public Counter counter(String name, String... tags) {
+        return counter(id(name, tags));
+    }
+
+    public Timer timer(MeterId id) {
+        return register(id, Timer.class, i -> new Timer(i, true));
+    }
+
+    public Timer timer(String name) {
+        return timer(id(name));
+    }
+
+    public Timer timer(String name, String key, String value) {
+        return timer(id(name, key, value));
+    }
+
+    public Timer timer(String name, String key1, String value1, String key2, String value2) {
+        return timer(id(name, key1, value1, key2, value2));
+    }
+
+    public Timer timer(String name, String... tags) {
+        return timer(id(name, tags));
+    }
+
+    // 只计数，不记录耗时分布
+    public Timer counterTimer(String name, String... tags) {
+        return register(id(name, tags), Timer.class, i -> new Timer(i, false));
+    }
+
+    public DistributionSummary summary(MeterId id) {
+        return register(id, DistributionSummary.class, DistributionSummary::new);
+    }
+
+    public DistributionSummary summary(String name, String... tags) {
+        return summary(id(name, tags));
+    }
+
+    // 已注册时返回原来的 Gauge，不替换 supplier
+    public Gauge gauge(String name, DoubleSupplier supplier, String... tags) {
+        return register(id(name, tags), Gauge.class, i -> new Gauge(i, supplier));
+    }
+
+    public <T> Gauge gauge(String name, T obj, ToDoubleFunction<T> fn, String... tags) {
+        return gauge(name, () -> fn.applyAsDouble(obj), tags);
+    }
+
+    public Optional<Meter> find(String name, String... tags) {
+        return Optional.ofNullable(ids.get(new MeterId(name, sortedCopy(tags)))).map(id -> id.meter);
+    }
+
+    public Optional<Timer> findTimer(String name, String... tags) {
+        return find(name, tags).filter(Timer.class::isInstance).map(Timer.class::cast);
+    }
+
+    static String[] sortedCopy(String[] tags) {
+        List<String[]> pairs = new ArrayList<>();
+        for(int i = 0; i + 1 < tags.length; i += 2)
+            pairs.add(new String[] {tags[i], tags[i + 1]});
+        pairs.sort(Comparator.comparing(p -> p[0]));
+        return pairs.stream().flatMap(Arrays::stream).toArray(String[]::new);
+    }
+
+    // 按名称和标签排序的全部 Meter
+    public List<Meter> getMeters() {
+        return ids.keySet().stream().filter(id -> id.meter != null)
+                .sorted(Comparator.comparing(MeterId::toString))
+                .map(id -> id.meter).toList();
+    }
+
+    public List<Timer> getTimers() {
+        return getMeters().stream().filter(Timer.class::isInstance).map(Timer.class::cast).toList();
+    }
+
+    // Prometheus 文本格式
+    public String scrape() {
+        return PrometheusWriter.write(this);
+    }
+
+    public String dump() {
+        StringBuilder sb = new StringBuilder(String.format("%-64s %10s %8s %10s %10s %10s %10s%n",
+                "meter", "count", "errors", "mean", "p50", "p99", "max"));
+        for(Meter meter : getMeters()) {
+            sb.append(String.format("%-64s", meter.getId()));
+            switch (meter) {
+                case Timer timer -> {
+                    sb.append(String.format(" %10d %8d", timer.getCount(), timer.getErrorCount()));
+                    if(timer.hasHistogram())
+                        appendSnapshot(sb, timer.snapshot(), 1e6, "ms");
+                }
+                case DistributionSummary summary -> {
+                    Histogram.Snapshot s = summary.snapshot();
+                    sb.append(String.format(" %10d %8s", s.count(), ""));
+                    appendSnapshot(sb, s, 1, "");
+                }
+                case Counter counter -> sb.append(String.format(" %10d", counter.count()));
+                case Gauge gauge -> sb.append(String.format(" %10s", gauge.value()));
+                default -> {}
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    static void appendSnapshot(StringBuilder sb, Histogram.Snapshot s, double scale, String unit) {
+        sb.append(String.format(" %10s %10s %10s %10s", format(s.mean() / scale, unit),
+                format(s.valueAtPercentile(50) / scale, unit), format(s.valueAtPercentile(99) / scale, unit),
+                format(s.max() / scale, unit)));
+    }
+
+    static String format(double value, String unit) {
+        return String.format("%.3f%s", value, unit);
+    }
+
+    @PreDestroy
+    void close() {
+        if(!ids.isEmpty())
+            logger.info("meters:\n{}", dump());
+    }
+}
@@ -0,0 +1,127 @@
+package com.learn.summer.metrics;
+
+import java.util.*;
+
+// Prometheus 文本格式（version 0.0.4）：Counter 输出为 counter，Gauge 为 gauge，
+// Timer（单位秒）和 DistributionSummary 为带分位数的 summary，Timer 的异常次数另外输出为 counter；
+// 只计数的 Timer（@Metered）没有耗时，调用次数输出为 counter
+public class PrometheusWriter {
+    static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    public static String write(MeterRegistry registry) {
+        // 同名同类型的 Meter 归为一组，只输出一次 TYPE
+        Map<String, List<Meter>> families = new TreeMap<>();
+        for(Meter meter : registry.getMeters())
+            families.computeIfAbsent(meter.getId().getName() + " " + meter.getClass().getSimpleName(),
+                    k -> new ArrayList<>()).add(meter);
+        StringBuilder sb = new StringBuilder();
+        families.values().forEach(meters -> writeFamily(sb, sanitize(meters.getFirst().getId().getName()), meters));
+        return sb.toString();
+    }
+
+    static void writeFamily(StringBuilder sb, String name, List<Meter> meters) {
+        switch (meters.getFirst()) {
+            case Counter c -> {
+                String family = name.endsWith("_total") ? name : name + "_total";
+                type(sb, family, "counter");
+                meters.forEach(m -> sample(sb, family, m.getId(), null, ((Counter) m).count()));
+            }
+            case Gauge g -> {
+                type(sb, name, "gauge");
+                meters.forEach(m -> sample(sb, name, m.getId(), null, ((Gauge) m).value()));
+            }
+            case Timer t -> {
+                List<Timer> timed = meters.stream().map(m -> (Timer) m).filter(Timer::hasHistogram).toList();
+                List<Timer> counted = meters.stream().map(m -> (Timer) m).filter(m -> !m.hasHistogram()).toList();
+                if(!timed.isEmpty()) {
+                    String family = name + "_seconds";
+                    type(sb, family, "summary");
+                    for(Timer timer : timed) {
+                        Histogram.Snapshot s = timer.snapshot();
+                        quantiles(sb, family, timer.getId(), s, 1e9);
+                        sample(sb, family + "_count", timer.getId(), null, timer.getCount());
+                        sample(sb, family + "_sum", timer.getId(), null, s.sum() / 1e9);
+                    }
+                }
+                if(!counted.isEmpty()) {
+                    String family = name + "_total";
+                    type(sb, family, "counter");
+                    counted.forEach(timer -> sample(sb, family, timer.getId(), null, timer.getCount()));
+                }
+                String errors = name + "_errors_total";
+                type(sb, errors, "counter");
+                meters.forEach(m -> sample(sb, errors, m.getId(), null, ((Timer) m).getErrorCount()));
+            }
+            case DistributionSummary d -> {
+                type(sb, name, "summary");
+                for(Meter m : meters) {
+                    Histogram.Snapshot s = ((DistributionSummary) m).snapshot();
+                    quantiles(sb, name, m.getId(), s, 1);
+                    sample(sb, name + "_count", m.getId(), null, s.count());
+                    sample(sb, name + "_sum", m.getId(), null, s.sum());
+                }
+            }
+            default -> {}
+        }
+    }
+
+    static void quantiles(StringBuilder sb, String name, MeterId id, Histogram.Snapshot s, double scale) {
+        for(double q : QUANTILES)
+            sample(sb, name, id, String.valueOf(q), s.valueAtPercentile(q * 100) / scale);
+    }
+
+    static void type(StringBuilder sb, String name, String type) {
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    static void sample(StringBuilder sb, String name, MeterId id, String quantile, long value) {
+        labels(sb.append(name), id, quantile).append(' ').append(value).append('\n');
+    }
+
+    static void sample(StringBuilder sb, String name, MeterId id, String quantile, double value) {
+        labels(sb.append(name), id, quantile).append(' ').append(formatDouble(value)).append('\n');
+    }
+
+    static StringBuilder labels(StringBuilder sb, MeterId id, String quantile) {
+        int count = id.getTagCount();
+        if(count == 0 && quantile == null)
+            return sb;
+        sb.append('{');
+        for(int i = 0; i < count; i++) {
+            if(i > 0)
+                sb.append(',');
+            sb.append(sanitizeLabel(id.getTagKey(i))).append("=\"").append(escape(id.getTagValue(i))).append('"');
+        }
+        if(quantile != null)
+            sb.append(count > 0 ? "," : "").append("quantile=\"").append(quantile).append('"');
+        return sb.append('}');
+    }
+
+    static String formatDouble(double value) {
+        if(Double.isNaN(value))
+            return "NaN";
+        if(Double.isInfinite(value))
+            return value > 0 ? "+Inf" : "-Inf";
+        return String.valueOf(value);
+    }
+
+    // 名称只能包含字母、数字、下划线和冒号，且不能以数字开头
+    static String sanitize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for(int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) && c < 128 || c == '_' || c == ':' ? c : '_');
+        }
+        if(sb.isEmpty() || Character.isDigit(sb.charAt(0)))
+            sb.insert(0, '_');
+        return sb.toString();
+    }
+
+    static String sanitizeLabel(String key) {
+        return sanitize(key).replace(':', '_');
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,85 @@
+package com.learn.summer.metrics;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Metered;
+import com.learn.summer.annotation.Timed;
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 为带有 @Timed/@Metered 的 Bean 创建代理，按 Bean 方法记录到容器的 MeterRegistry，通过 @Import 启用
+@Component
+public class TimedBeanPostProcessor extends ProxyBeanPostProcessor {
+    static final String TIMED_NAME = "summer.method.timed";
+    static final String METERED_NAME = "summer.method.metered";
+
+    final MeterRegistry registry;
+
+    public TimedBeanPostProcessor(@Autowired MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(BeanDefinition def) {
+        Class<?> beanClass = def.getBeanClass();
+        return isMetered(beanClass) || Arrays.stream(beanClass.getMethods()).anyMatch(this::isMetered);
+    }
+
+    boolean isMetered(AnnotatedElement element) {
+        return element.isAnnotationPresent(Timed.class) || element.isAnnotationPresent(Metered.class);
+    }
+
+    @Override
+    protected InvocationHandler createHandler(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        // 代理创建时为每个接口方法准备好 Timer，调用时只查一次 HashMap
+        Map<Method, Timer> timers = new HashMap<>();
+        for(Class<?> i : getProxyInterfaces(beanClass)) {
+            for(Method m : i.getMethods()) {
+                Timer timer = createTimer(beanName, beanClass, getImplementation(beanClass, m));
+                if(timer != null)
+                    timers.put(m, timer);
+            }
+        }
+        if(timers.isEmpty())
+            return null;
+        return (proxy, method, args) -> {
+            Timer timer = timers.get(method);
+            if(timer == null)
+                return invokeTarget(bean, method, args);
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(bean, method, args);
+            }catch (Throwable e) {
+                timer.recordError();
+                throw e;
+            }finally {
+                timer.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    // 方法上的注解优先于类上的注解
+    Timer createTimer(String beanName, Class<?> beanClass, Method method) {
+        Timed timed = method.getAnnotation(Timed.class);
+        Metered metered = method.getAnnotation(Metered.class);
+        if(timed == null && metered == null) {
+            timed = beanClass.getAnnotation(Timed.class);
+            metered = beanClass.getAnnotation(Metered.class);
+        }
+        if(timed != null)
+            return registry.timer(timed.value().isEmpty() ? TIMED_NAME : timed.value(),
+                    "bean", beanName, "method", method.getName());
+        if(metered != null)
+            return registry.counterTimer(metered.value().isEmpty() ? METERED_NAME : metered.value(),
+                    "bean", beanName, "method", method.getName());
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.learn.summer.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 调用次数、异常次数和耗时（纳秒）分布，只计数时不记录直方图
+public class Timer implements Meter {
+    private final MeterId id;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Histogram histogram;
+
+    Timer(MeterId id, boolean histogram) {
+        this.id = id;
+        this.histogram = histogram ? new Histogram() : null;
+    }
+
+    public void record(long nanos) {
+        count.increment();
+        if(histogram != null)
+            histogram.record(nanos);
+    }
+
+    public void record(long amount, TimeUnit unit) {
+        record(unit.toNanos(amount));
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    @Override
+    public MeterId getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public boolean hasHistogram() {
+        return histogram != null;
+    }
+
+    public Histogram.Snapshot snapshot() {
+        return histogram == null ? new Histogram.Snapshot(new long[0], 0, 0, 0) : histogram.snapshot();
+    }
+}
@@ -0,0 +1,13 @@
+package com.learn.summer.scope;
+
+// 非单例作用域，管理同一个 BeanDefinition 的多个实例；容器中保存的是 getProxy() 返回的路由代理
+public interface BeanScope {
+    // 注入和 getBean 得到的对象，实现 Bean 类的全部接口
+    Object getProxy();
+
+    // 容器初始化到该 Bean 时调用，代替 init 方法
+    default void start() {}
+
+    // 容器关闭或移除该 Bean 时调用，销毁全部实例
+    void close();
+}
@@ -0,0 +1,273 @@
+package com.learn.summer.scope;
+
+import com.learn.summer.annotation.Pooled;
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanDefinitionException;
+import com.learn.summer.exception.BeanPoolException;
+import com.learn.summer.metrics.Counter;
+import com.learn.summer.metrics.MeterRegistry;
+import com.learn.summer.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// @Pooled 作用域：空闲实例放在无锁的 ConcurrentLinkedDeque 中，后进先出以复用最近用过的实例；
+// 同时借出的数量由 Semaphore 限制为 max，有空闲许可时借出和归还都只有 CAS。
+// 最早归还的实例在队尾，后台任务从队尾销毁空闲超时的实例，至少保留 min 个
+public class PooledScope implements BeanScope {
+    static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("summer-pool-evictor").daemon().factory());
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ScopedBeanFactory factory;
+    private final String beanName;
+    private final int min;
+    private final int max;
+    private final long idleTimeoutNanos;
+    private final long borrowTimeoutNanos;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Entry> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object proxy;
+
+    private final Counter created;
+    private final Counter destroyed;
+    private final Counter timeouts;
+    // 借满时的等待耗时
+    private final Timer waits;
+
+    private volatile boolean closed;
+    private ScheduledFuture<?> eviction;
+
+    static final class Entry {
+        final Object instance;
+        long idleSince;
+
+        Entry(Object instance) {
+            this.instance = instance;
+        }
+    }
+
+    public PooledScope(ScopedBeanFactory factory, Annotation annotation) {
+        Pooled pooled = (Pooled) annotation;
+        BeanDefinition def = factory.getDefinition();
+        this.factory = factory;
+        this.beanName = def.getName();
+        if(pooled.max() < 1 || pooled.min() < 0 || pooled.min() > pooled.max())
+            throw new BeanDefinitionException(String.format("Invalid @Pooled(min = %d, max = %d) on bean '%s'.",
+                    pooled.min(), pooled.max(), beanName));
+        this.min = pooled.min();
+        this.max = pooled.max();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(pooled.idleTimeout());
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(pooled.borrowTimeout());
+        this.permits = new Semaphore(max);
+
+        this.proxy = ScopeProxies.newProxy(def, "Pooled", this::invoke);
+
+        MeterRegistry registry = factory.getMeterRegistry();
+        registry.gauge("summer.pool.size", size, AtomicInteger::get, "bean", beanName);
+        registry.gauge("summer.pool.idle", idleCount, AtomicInteger::get, "bean", beanName);
+        registry.gauge("summer.pool.active", this, PooledScope::getActive, "bean", beanName);
+        this.created = registry.counter("summer.pool.created", "bean", beanName);
+        this.destroyed = registry.counter("summer.pool.destroyed", "bean", beanName);
+        this.timeouts = registry.counter("summer.pool.timeouts", "bean", beanName);
+        this.waits = registry.timer("summer.pool.wait", "bean", beanName);
+    }
+
+    @Override
+    public Object getProxy() {
+        return proxy;
+    }
+
+    @Override
+    public void start() {
+        for(int i = size.get(); i < min; i++)
+            offer(create());
+        if(idleTimeoutNanos > 0) {
+            long period = Math.max(idleTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(10));
+            this.eviction = EVICTOR.scheduleWithFixedDelay(this::evictQuietly, period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if(ScopeProxies.isObjectMethod(method))
+            return ScopeProxies.invokeObjectMethod(proxy, method, args, this);
+        Entry entry = borrowEntry();
+        try {
+            return ProxyBeanPostProcessor.invokeTarget(entry.instance, method, args);
+        } finally {
+            release(entry);
+        }
+    }
+
+    // 显式借出一个实例，在 try-with-resources 中连续调用多个方法
+    public <T> Lease<T> borrow() {
+        return new Lease<>(this, borrowEntry());
+    }
+
+    public static final class Lease<T> implements AutoCloseable {
+        private final PooledScope scope;
+        private Entry entry;
+
+        Lease(PooledScope scope, Entry entry) {
+            this.scope = scope;
+            this.entry = entry;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if(entry == null)
+                throw new IllegalStateException("Lease is already returned.");
+            return (T) entry.instance;
+        }
+
+        // 重复调用只归还一次
+        @Override
+        public void close() {
+            if(entry != null) {
+                scope.release(entry);
+                entry = null;
+            }
+        }
+    }
+
+    Entry borrowEntry() {
+        if(closed)
+            throw new BeanPoolException("Pool of bean '" + beanName + "' is closed.");
+        if(!permits.tryAcquire())
+            await();
+        Entry entry = idle.pollFirst();
+        if(entry != null) {
+            idleCount.decrementAndGet();
+            return entry;
+        }
+        try {
+            return create();
+        }catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void await() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            if(borrowTimeoutNanos <= 0) {
+                permits.acquire();
+                acquired = true;
+            } else {
+                acquired = permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeanPoolException("Interrupted while waiting for pooled bean '" + beanName + "'.", e);
+        }
+        waits.record(System.nanoTime() - start);
+        if(!acquired) {
+            timeouts.increment();
+            throw new BeanPoolException(String.format("Timed out after %d ms waiting for pooled bean '%s' (max %d).",
+                    TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos), beanName, max));
+        }
+    }
+
+    void release(Entry entry) {
+        offer(entry);
+        permits.release();
+        // 关闭时已清空的队列不会再被访问，这里自己取回并销毁
+        if(closed && idle.removeFirstOccurrence(entry)) {
+            idleCount.decrementAndGet();
+            destroy(entry);
+        }
+    }
+
+    void offer(Entry entry) {
+        entry.idleSince = System.nanoTime();
+        idle.offerFirst(entry);
+        idleCount.incrementAndGet();
+    }
+
+    Entry create() {
+        Entry entry = new Entry(factory.create());
+        size.incrementAndGet();
+        created.increment();
+        return entry;
+    }
+
+    // 销毁完成后再减少计数，观察到 size 变化时实例已经销毁
+    void destroy(Entry entry) {
+        try {
+            factory.destroy(entry.instance);
+        }catch (RuntimeException e) {
+            logger.error("Destroy pooled instance of bean '{}' failed.", beanName, e);
+        }
+        destroyed.increment();
+        size.decrementAndGet();
+    }
+
+    // 从最久未用的一端检查，队尾未超时说明其余实例都未超时
+    void evict() {
+        long now = System.nanoTime();
+        while(size.get() > min) {
+            Entry entry = idle.pollLast();
+            if(entry == null)
+                return;
+            if(now - entry.idleSince < idleTimeoutNanos) {
+                idle.offerLast(entry);
+                return;
+            }
+            idleCount.decrementAndGet();
+            destroy(entry);
+        }
+    }
+
+    void evictQuietly() {
+        try {
+            evict();
+        }catch (RuntimeException e) {
+            // 异常会取消定时任务
+            logger.error("Evict idle instances of pooled bean '{}' failed.", beanName, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if(eviction != null)
+            eviction.cancel(false);
+        Entry entry;
+        while((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            destroy(entry);
+        }
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    public int getActive() {
+        return Math.max(size.get() - idleCount.get(), 0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PooledScope[bean=%s, size=%d, idle=%d, max=%d]", beanName, getSize(), getIdle(), max);
+    }
+}
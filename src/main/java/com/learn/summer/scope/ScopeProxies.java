@@ -0,0 +1,37 @@
+package com.learn.summer.scope;
+
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanDefinitionException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+// 作用域的路由代理，实现 Bean 类的全部接口（@Bean 方法返回接口时即该接口）
+final class ScopeProxies {
+    private ScopeProxies() {}
+
+    static Object newProxy(BeanDefinition def, String scopeName, InvocationHandler handler) {
+        Class<?> beanClass = def.getBeanClass();
+        Class<?>[] interfaces = beanClass.isInterface()
+                ? new Class<?>[] {beanClass} : ProxyBeanPostProcessor.getProxyInterfaces(beanClass);
+        if(interfaces.length == 0)
+            throw new BeanDefinitionException(String.format("%s bean '%s': %s does not implement any interface.",
+                    scopeName, def.getName(), beanClass.getName()));
+        return Proxy.newProxyInstance(beanClass.getClassLoader(), interfaces, handler);
+    }
+
+    static boolean isObjectMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    // equals/hashCode 按代理本身，toString 描述作用域
+    static Object invokeObjectMethod(Object proxy, Method method, Object[] args, BeanScope scope) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> scope.toString();
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.learn.summer.scope;
+
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.metrics.MeterRegistry;
+
+// 容器为作用域提供的实例工厂，create() 与单例一样经过构造、注入、init 和 BeanPostProcessor，
+// 但实例不登记到容器，由作用域负责调用 destroy()
+public interface ScopedBeanFactory {
+    BeanDefinition getDefinition();
+
+    Object create();
+
+    void destroy(Object instance);
+
+    MeterRegistry getMeterRegistry();
+}
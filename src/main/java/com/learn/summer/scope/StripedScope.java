@@ -0,0 +1,242 @@
+package com.learn.summer.scope;
+
+import com.learn.summer.annotation.Reduce;
+import com.learn.summer.annotation.Striped;
+import com.learn.summer.context.BeanDefinition;
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.exception.BeanDefinitionException;
+import com.learn.summer.metrics.MeterRegistry;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+// @Striped 作用域：分片在第一次被路由到时才创建实例，线程 id 经乘法 hash 后取低位选择分片，
+// 同一线程总是落在同一分片。locked 时每个分片有自己的 ReentrantLock（虚拟线程等待时不占用载体线程），
+// 只有落在同一分片的线程才会竞争
+public class StripedScope implements BeanScope {
+    static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final ScopedBeanFactory factory;
+    private final String beanName;
+    private final int mask;
+    private final AtomicReferenceArray<Object> stripes;
+    // 不加锁时为 null
+    private final ReentrantLock[] locks;
+    // 接口方法 -> @Reduce 的合并方式，启动时解析并校验返回类型
+    private final Map<Method, Reduce.Op> reduceOps = new HashMap<>();
+    private final Object proxy;
+
+    private volatile boolean closed;
+
+    public StripedScope(ScopedBeanFactory factory, Annotation annotation) {
+        Striped striped = (Striped) annotation;
+        BeanDefinition def = factory.getDefinition();
+        this.factory = factory;
+        this.beanName = def.getName();
+        if(striped.value() < 0)
+            throw new BeanDefinitionException(String.format("Invalid @Striped(%d) on bean '%s'.",
+                    striped.value(), beanName));
+        int n = striped.value() > 0 ? striped.value() : Runtime.getRuntime().availableProcessors();
+        int size = n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+        this.mask = size - 1;
+        this.stripes = new AtomicReferenceArray<>(size);
+        if(striped.locked()) {
+            this.locks = new ReentrantLock[size];
+            for(int i = 0; i < size; i++)
+                locks[i] = new ReentrantLock();
+        } else {
+            this.locks = null;
+        }
+        this.proxy = ScopeProxies.newProxy(def, "Striped", this::invoke);
+        for(Class<?> i : proxy.getClass().getInterfaces()) {
+            for(Method m : i.getMethods()) {
+                Reduce reduce = findReduce(def.getBeanClass(), m);
+                if(reduce != null)
+                    reduceOps.put(m, checkReduce(m, reduce.value()));
+            }
+        }
+        MeterRegistry registry = factory.getMeterRegistry();
+        registry.gauge("summer.striped.instances", this, StripedScope::getInstanceCount, "bean", beanName);
+    }
+
+    static Reduce findReduce(Class<?> beanClass, Method method) {
+        Reduce reduce = method.getAnnotation(Reduce.class);
+        return reduce != null ? reduce
+                : ProxyBeanPostProcessor.getImplementation(beanClass, method).getAnnotation(Reduce.class);
+    }
+
+    Reduce.Op checkReduce(Method m, Reduce.Op op) {
+        Class<?> type = m.getReturnType();
+        boolean valid = switch (op) {
+            case SUM -> type == int.class || type == long.class || type == double.class
+                    || type == Integer.class || type == Long.class || type == Double.class;
+            case MIN, MAX -> type.isPrimitive() && type != void.class || Comparable.class.isAssignableFrom(type);
+            case LIST -> type.isAssignableFrom(List.class);
+            // 返回 null，基本类型无法表示
+            case NONE -> !type.isPrimitive() || type == void.class;
+        };
+        if(!valid)
+            throw new BeanDefinitionException(String.format("@Reduce(%s) cannot be applied to %s.%s() " +
+                    "returning %s in striped bean '%s'.", op, m.getDeclaringClass().getSimpleName(), m.getName(),
+                    type.getName(), beanName));
+        return op;
+    }
+
+    @Override
+    public Object getProxy() {
+        return proxy;
+    }
+
+    Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if(ScopeProxies.isObjectMethod(method))
+            return ScopeProxies.invokeObjectMethod(proxy, method, args, this);
+        Reduce.Op op = reduceOps.get(method);
+        if(op != null)
+            return reduce(method, args, op);
+        return call(stripe(), method, args);
+    }
+
+    // 乘法 hash 打散连续的线程 id
+    int stripe() {
+        return (int) ((Thread.currentThread().threadId() * GOLDEN) >>> 32) & mask;
+    }
+
+    Object call(int stripe, Method method, Object[] args) throws Throwable {
+        Object instance = instance(stripe);
+        if(locks == null)
+            return ProxyBeanPostProcessor.invokeTarget(instance, method, args);
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            return ProxyBeanPostProcessor.invokeTarget(instance, method, args);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Object instance(int stripe) {
+        Object instance = stripes.get(stripe);
+        if(instance != null)
+            return instance;
+        // 只在创建时加锁，避免并发重复创建后又销毁
+        synchronized (this) {
+            instance = stripes.get(stripe);
+            if(instance == null) {
+                if(closed)
+                    throw new BeanCreationException("Striped bean '" + beanName + "' is closed.");
+                instance = factory.create();
+                stripes.set(stripe, instance);
+            }
+            return instance;
+        }
+    }
+
+    Object reduce(Method method, Object[] args, Reduce.Op op) throws Throwable {
+        // 保证至少有当前线程所在的分片
+        instance(stripe());
+        List<Object> results = new ArrayList<>(stripes.length());
+        for(int i = 0; i < stripes.length(); i++) {
+            if(stripes.get(i) != null)
+                results.add(call(i, method, args));
+        }
+        return switch (op) {
+            case SUM -> sum(method.getReturnType(), results);
+            case MIN -> results.stream().filter(Objects::nonNull).min(StripedScope::compare).orElse(null);
+            case MAX -> results.stream().filter(Objects::nonNull).max(StripedScope::compare).orElse(null);
+            case LIST -> list(results);
+            case NONE -> null;
+        };
+    }
+
+    static Object sum(Class<?> type, List<Object> results) {
+        if(type == int.class || type == Integer.class)
+            return results.stream().mapToInt(r -> (Integer) r).sum();
+        if(type == long.class || type == Long.class)
+            return results.stream().mapToLong(r -> (Long) r).sum();
+        return results.stream().mapToDouble(r -> (Double) r).sum();
+    }
+
+    // 各分片返回的集合依次拼接，其他返回值直接收集
+    static List<Object> list(List<Object> results) {
+        List<Object> list = new ArrayList<>();
+        for(Object r : results) {
+            if(r instanceof Collection<?> c)
+                list.addAll(c);
+            else
+                list.add(r);
+        }
+        return list;
+    }
+
+    // 返回类型已在启动时校验为 Comparable 或基本类型，各分片返回同一类型
+    @SuppressWarnings("unchecked")
+    static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    // 依次在每个已创建的分片上执行 mapper 并合并，加锁时持有该分片的锁
+    @SuppressWarnings("unchecked")
+    public <T, R> R reduce(Function<? super T, ? extends R> mapper, R identity, BinaryOperator<R> combiner) {
+        R result = identity;
+        for(int i = 0; i < stripes.length(); i++) {
+            T instance = (T) stripes.get(i);
+            if(instance == null)
+                continue;
+            if(locks != null)
+                locks[i].lock();
+            try {
+                result = combiner.apply(result, mapper.apply(instance));
+            } finally {
+                if(locks != null)
+                    locks[i].unlock();
+            }
+        }
+        return result;
+    }
+
+    // 已创建的分片实例（可能是 BeanPostProcessor 返回的代理），按分片顺序
+    public List<Object> getInstances() {
+        List<Object> instances = new ArrayList<>();
+        for(int i = 0; i < stripes.length(); i++) {
+            Object instance = stripes.get(i);
+            if(instance != null)
+                instances.add(instance);
+        }
+        return instances;
+    }
+
+    public int getInstanceCount() {
+        int count = 0;
+        for(int i = 0; i < stripes.length(); i++) {
+            if(stripes.get(i) != null)
+                count++;
+        }
+        return count;
+    }
+
+    public int getStripeCount() {
+        return stripes.length();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for(int i = 0; i < stripes.length(); i++) {
+            Object instance = stripes.getAndSet(i, null);
+            if(instance != null)
+                factory.destroy(instance);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StripedScope[bean=%s, stripes=%d, instances=%d]", beanName, getStripeCount(),
+                getInstanceCount());
+    }
+}
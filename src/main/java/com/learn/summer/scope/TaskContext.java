@@ -0,0 +1,91 @@
+package com.learn.summer.scope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// 请求/任务作用域的一次执行，用法与 ScopedValue.where(...).run(...) 相同：只在 run/call 执行期间绑定到当前线程，
+// 结束时按创建的逆序销毁期间创建的 @TaskScoped 实例并解除绑定，可以嵌套。
+// ScopedValue 在 Java 21 中仍是预览 API，这里用 ThreadLocal 实现，但只在 try/finally 中设置并恢复，
+// 执行结束后线程上不留下任何值，大量短生命周期的虚拟线程不会积累 ThreadLocal 条目。
+// 实例只属于执行它的线程，不会传给子线程
+public final class TaskContext {
+    static final Logger logger = LoggerFactory.getLogger(TaskContext.class);
+
+    private static final ThreadLocal<TaskContext> CURRENT = new ThreadLocal<>();
+
+    // 作用域 -> 本次执行中的实例，大部分请求只用到少数几个，按需创建
+    private Map<TaskScope, Object> instances;
+    private List<Runnable> destroyCallbacks;
+
+    private TaskContext() {}
+
+    public static void run(Runnable task) {
+        TaskContext previous = CURRENT.get();
+        TaskContext context = new TaskContext();
+        CURRENT.set(context);
+        try {
+            task.run();
+        } finally {
+            end(context, previous);
+        }
+    }
+
+    public static <T> T call(Callable<T> task) throws Exception {
+        TaskContext previous = CURRENT.get();
+        TaskContext context = new TaskContext();
+        CURRENT.set(context);
+        try {
+            return task.call();
+        } finally {
+            end(context, previous);
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static TaskContext current() {
+        return CURRENT.get();
+    }
+
+    static void end(TaskContext context, TaskContext previous) {
+        if(previous == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(previous);
+        context.destroy();
+    }
+
+    Object get(TaskScope scope) {
+        return instances == null ? null : instances.get(scope);
+    }
+
+    void put(TaskScope scope, Object instance, Runnable destroyCallback) {
+        if(instances == null) {
+            instances = new HashMap<>(4);
+            destroyCallbacks = new ArrayList<>(4);
+        }
+        instances.put(scope, instance);
+        destroyCallbacks.add(destroyCallback);
+    }
+
+    // 销毁失败只记录日志，不掩盖任务本身的异常
+    void destroy() {
+        if(destroyCallbacks == null)
+            return;
+        for(int i = destroyCallbacks.size() - 1; i >= 0; i--) {
+            try {
+                destroyCallbacks.get(i).run();
+            }catch (RuntimeException e) {
+                logger.error("Destroy task scoped bean failed.", e);
+            }
+        }
+    }
+}
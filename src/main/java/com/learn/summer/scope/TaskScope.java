@@ -0,0 +1,65 @@
+package com.learn.summer.scope;
+
+import com.learn.summer.context.ProxyBeanPostProcessor;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.metrics.Counter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+// @TaskScoped 作用域：代理从当前 TaskContext 查找本次执行的实例，不存在时创建并登记销毁回调
+public class TaskScope implements BeanScope {
+    private final ScopedBeanFactory factory;
+    private final String beanName;
+    private final Object proxy;
+    private final Counter created;
+
+    private volatile boolean closed;
+
+    public TaskScope(ScopedBeanFactory factory, Annotation annotation) {
+        this.factory = factory;
+        this.beanName = factory.getDefinition().getName();
+        this.proxy = ScopeProxies.newProxy(factory.getDefinition(), "Task scoped", this::invoke);
+        this.created = factory.getMeterRegistry().counter("summer.task.instances", "bean", beanName);
+    }
+
+    @Override
+    public Object getProxy() {
+        return proxy;
+    }
+
+    Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if(ScopeProxies.isObjectMethod(method))
+            return ScopeProxies.invokeObjectMethod(proxy, method, args, this);
+        return ProxyBeanPostProcessor.invokeTarget(getInstance(), method, args);
+    }
+
+    // 当前执行中的实例
+    public Object getInstance() {
+        TaskContext context = TaskContext.current();
+        if(context == null)
+            throw new BeanCreationException(String.format("No active task scope for bean '%s', " +
+                    "call it inside TaskContext.run() or TaskContext.call().", beanName));
+        Object instance = context.get(this);
+        if(instance == null) {
+            if(closed)
+                throw new BeanCreationException("Task scoped bean '" + beanName + "' is closed.");
+            Object created = factory.create();
+            context.put(this, created, () -> factory.destroy(created));
+            this.created.increment();
+            instance = created;
+        }
+        return instance;
+    }
+
+    // 进行中的执行结束时各自销毁实例
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskScope[bean=" + beanName + "]";
+    }
+}
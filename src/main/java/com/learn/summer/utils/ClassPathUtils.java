@@ -28,7 +28,7 @@ public class ClassPathUtils {
         });
     }
 
-    static ClassLoader getClassLoader() {
+    public static ClassLoader getClassLoader() {
         ClassLoader c1 = null;
         c1 = Thread.currentThread().getContextClassLoader();
         if(c1 == null)
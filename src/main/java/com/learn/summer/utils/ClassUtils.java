@@ -1,31 +1,21 @@
 package com.learn.summer.utils;
 
 import com.learn.summer.annotation.Bean;
-import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Qualifier;
 import com.learn.summer.exception.BeanDefinitionException;
 import jakarta.annotation.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class ClassUtils {
+    // 查找直接声明或通过元注解声明的注解，结果按类缓存
+    @Nullable
     public static <A extends Annotation> A findAnnotation(Class<?> target, Class<A> annoClass) {
-        A a = target.getAnnotation(annoClass);
-        for(Annotation anno : target.getAnnotations()) {
-            Class<? extends Annotation> annoType = anno.annotationType();
-            if(!annoType.getPackageName().equals("java.lang.annotation")) { // 只需找自定义的注解
-                A found = findAnnotation(annoType, annoClass);
-                if(found != null) {
-                    if(a != null)
-                        throw new BeanDefinitionException("Duplicate @" + annoClass.getSimpleName() +
-                                " found on class " + target.getSimpleName());
-                    a = found;
-                }
-            }
-        }
-        return a;
+        return MergedAnnotations.from(target).get(annoClass);
     }
 
     @Nullable
@@ -40,22 +30,7 @@ public class ClassUtils {
 
     // @Component 标注的 Bean 类
     public static String getBeanName(Class<?> clazz) {
-        String name = "";
-        Component component = clazz.getAnnotation(Component.class);
-        if(component != null)
-            name = component.value();
-        else {
-            // 未找到 @Component，继续在其他注解中查找
-            for(Annotation anno : clazz.getAnnotations()) {
-                if(findAnnotation(anno.annotationType(), Component.class) != null) {
-                    try {
-                        name = (String) anno.annotationType().getMethod("value").invoke(anno);
-                    }catch (ReflectiveOperationException e) {
-                        throw new BeanDefinitionException("Cannot get annotation value.", e);
-                    }
-                }
-            }
-        }
+        String name = MergedAnnotations.from(clazz).getComponentName();
         if(name.isEmpty()) {
             // default name: "HelloWorld" => "helloWorld"
             name = clazz.getSimpleName();
@@ -92,6 +67,18 @@ public class ClassUtils {
                 annoClass.getSimpleName(), clazz.getName()));
     }
 
+    // @Qualifier 及以 @Qualifier 为元注解的注解
+    public static List<Annotation> getQualifiers(Annotation[]... annotations) {
+        List<Annotation> qualifiers = new ArrayList<>();
+        for(Annotation[] annos : annotations) {
+            for(Annotation anno : annos) {
+                if(anno instanceof Qualifier || anno.annotationType().isAnnotationPresent(Qualifier.class))
+                    qualifiers.add(anno);
+            }
+        }
+        return qualifiers;
+    }
+
     public static Method getNamedMethod(Class<?> clazz, String name) {
         try {
             return clazz.getDeclaredMethod(name);
@@ -0,0 +1,135 @@
+package com.learn.summer.utils;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.exception.BeanDefinitionException;
+import jakarta.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+// 类上直接声明以及通过（多层）元注解间接声明的全部注解，每个类只解析一次，缓存在 ClassValue 中，
+// 类卸载时缓存随之回收
+public final class MergedAnnotations {
+    private static final ClassValue<MergedAnnotations> CACHE = new ClassValue<>() {
+        @Override
+        protected MergedAnnotations computeValue(Class<?> type) {
+            return new MergedAnnotations(type);
+        }
+    };
+
+    // annotation 为找到的注解，source 为类上直接声明、引入该注解的注解
+    public record MergedAnnotation(Annotation annotation, Annotation source) {
+        public boolean isDirect() {
+            return annotation == source;
+        }
+    }
+
+    private final Class<?> type;
+    // 注解类型 -> 找到的全部注解，按声明顺序深度优先
+    private final Map<Class<? extends Annotation>, List<MergedAnnotation>> annotations = new HashMap<>();
+    // @Component 及以 @Component 为元注解的直接注解（如 @Configuration）-> 解析好的属性
+    private final Map<Class<? extends Annotation>, Map<String, Object>> stereotypes = new LinkedHashMap<>();
+    // 由 stereotype 的 value 属性指定的 Bean 名称，未指定时为空字符串
+    private final String componentName;
+
+    public static MergedAnnotations from(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    MergedAnnotations(Class<?> type) {
+        this.type = type;
+        for(Annotation anno : type.getAnnotations()) {
+            add(anno, anno);
+            Class<? extends Annotation> annoType = anno.annotationType();
+            // 只需找自定义的注解
+            if(!isJavaAnnotation(annoType)) {
+                Set<Class<?>> path = new HashSet<>();
+                path.add(annoType);
+                collect(annoType, anno, path);
+            }
+        }
+        List<MergedAnnotation> components = annotations.getOrDefault(Component.class, List.of());
+        String name = "";
+        for(MergedAnnotation c : components) {
+            Annotation source = c.source();
+            Map<String, Object> attributes = stereotypes.computeIfAbsent(source.annotationType(),
+                    k -> attributesOf(source));
+            // 直接声明的 @Component 优先，没有 value 属性的注解不指定名称
+            if(attributes.get("value") instanceof String value && (c.isDirect() || name.isEmpty()))
+                name = value;
+        }
+        this.componentName = name;
+    }
+
+    void collect(Class<? extends Annotation> annoType, Annotation source, Set<Class<?>> path) {
+        for(Annotation meta : annoType.getAnnotations()) {
+            Class<? extends Annotation> metaType = meta.annotationType();
+            // 互相标注的注解只沿一条路径访问一次，避免无限递归
+            if(!path.add(metaType))
+                continue;
+            add(meta, source);
+            if(!isJavaAnnotation(metaType))
+                collect(metaType, source, path);
+            path.remove(metaType);
+        }
+    }
+
+    void add(Annotation annotation, Annotation source) {
+        annotations.computeIfAbsent(annotation.annotationType(), k -> new ArrayList<>(1))
+                .add(new MergedAnnotation(annotation, source));
+    }
+
+    // 与 Class.getAnnotation 相同，但同时查找元注解；出现多次时报错
+    @Nullable
+    public <A extends Annotation> A get(Class<A> annoClass) {
+        List<MergedAnnotation> found = annotations.get(annoClass);
+        if(found == null)
+            return null;
+        if(found.size() > 1)
+            throw new BeanDefinitionException("Duplicate @" + annoClass.getSimpleName() +
+                    " found on class " + type.getSimpleName());
+        return annoClass.cast(found.getFirst().annotation());
+    }
+
+    public boolean isPresent(Class<? extends Annotation> annoClass) {
+        return annotations.containsKey(annoClass);
+    }
+
+    public List<MergedAnnotation> getAll(Class<? extends Annotation> annoClass) {
+        return Collections.unmodifiableList(annotations.getOrDefault(annoClass, List.of()));
+    }
+
+    public Map<Class<? extends Annotation>, Map<String, Object>> getStereotypes() {
+        return Collections.unmodifiableMap(stereotypes);
+    }
+
+    public boolean isComponent() {
+        return !stereotypes.isEmpty();
+    }
+
+    public String getComponentName() {
+        return componentName;
+    }
+
+    static boolean isJavaAnnotation(Class<? extends Annotation> annoType) {
+        return annoType.getPackageName().equals("java.lang.annotation");
+    }
+
+    static Map<String, Object> attributesOf(Annotation anno) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for(Method m : anno.annotationType().getDeclaredMethods()) {
+            if(m.getParameterCount() != 0 || Modifier.isStatic(m.getModifiers()))
+                continue;
+            try {
+                // 注解类型可以是包级私有的
+                m.setAccessible(true);
+                attributes.put(m.getName(), m.invoke(anno));
+            }catch (ReflectiveOperationException e) {
+                throw new BeanDefinitionException("Cannot get annotation value.", e);
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+}
@@ -0,0 +1,156 @@
+package com.learn.summer.utils;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 泛型类型解析，每个类的父类型及其泛型参数只解析一次
+public class TypeUtils {
+    // 类 -> 全部父类和接口 -> 泛型参数，未能解析的参数保留为 TypeVariable
+    private static final ClassValue<Map<Class<?>, Type[]>> SUPER_TYPES = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Type[]> computeValue(Class<?> type) {
+            Map<Class<?>, Type[]> result = new HashMap<>();
+            collect(type, Map.of(), result);
+            return Map.copyOf(result);
+        }
+    };
+
+    public static Class<?> getRawClass(Type type) {
+        if(type instanceof Class<?> c)
+            return c;
+        if(type instanceof ParameterizedType pt)
+            return (Class<?>) pt.getRawType();
+        if(type instanceof GenericArrayType at)
+            return getRawClass(at.getGenericComponentType()).arrayType();
+        if(type instanceof WildcardType wt)
+            return getRawClass(wt.getUpperBounds()[0]);
+        if(type instanceof TypeVariable<?> tv)
+            return getRawClass(tv.getBounds()[0]);
+        return Object.class;
+    }
+
+    // 解析 type 作为 target 时的泛型参数，type 不是 target 的子类型时返回 null
+    public static Type[] resolveTypeArguments(Type type, Class<?> target) {
+        Class<?> raw = getRawClass(type);
+        Type[] args = SUPER_TYPES.get(raw).get(target);
+        if(args == null || !(type instanceof ParameterizedType pt))
+            return args;
+        // 用实际的泛型参数替换 raw 自身的类型变量
+        Map<TypeVariable<?>, Type> bindings = bind(raw, pt.getActualTypeArguments());
+        Type[] resolved = new Type[args.length];
+        for(int i = 0; i < args.length; i++)
+            resolved[i] = substitute(args[i], bindings);
+        return resolved;
+    }
+
+    // candidate 能否注入到 required，strict 为 true 时未能解析的泛型参数视为不匹配
+    public static boolean isAssignable(Type required, Type candidate, boolean strict) {
+        Class<?> raw = getRawClass(required);
+        if(!raw.isAssignableFrom(getRawClass(candidate)))
+            return false;
+        if(!(required instanceof ParameterizedType pt))
+            return true;
+        Type[] resolved = resolveTypeArguments(candidate, raw);
+        Type[] expected = pt.getActualTypeArguments();
+        if(resolved == null || resolved.length != expected.length)
+            return false;
+        for(int i = 0; i < expected.length; i++) {
+            if(!matchesArgument(expected[i], resolved[i], strict))
+                return false;
+        }
+        return true;
+    }
+
+    static boolean matchesArgument(Type expected, Type actual, boolean strict) {
+        if(actual instanceof TypeVariable<?> || actual instanceof WildcardType)
+            return !strict;
+        if(expected instanceof TypeVariable<?>)
+            return true;
+        if(expected instanceof WildcardType wt) {
+            Class<?> actualRaw = getRawClass(actual);
+            for(Type upper : wt.getUpperBounds()) {
+                if(!getRawClass(upper).isAssignableFrom(actualRaw))
+                    return false;
+            }
+            for(Type lower : wt.getLowerBounds()) {
+                if(!actualRaw.isAssignableFrom(getRawClass(lower)))
+                    return false;
+            }
+            return true;
+        }
+        if(getRawClass(expected) != getRawClass(actual))
+            return false;
+        if(expected instanceof ParameterizedType ept && actual instanceof ParameterizedType apt) {
+            Type[] e = ept.getActualTypeArguments();
+            Type[] a = apt.getActualTypeArguments();
+            for(int i = 0; i < e.length; i++) {
+                if(!matchesArgument(e[i], a[i], strict))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    static void collect(Type type, Map<TypeVariable<?>, Type> bindings, Map<Class<?>, Type[]> result) {
+        Class<?> raw = getRawClass(type);
+        if(result.containsKey(raw))
+            return;
+        TypeVariable<?>[] params = raw.getTypeParameters();
+        Type[] args = new Type[params.length];
+        for(int i = 0; i < params.length; i++) {
+            args[i] = type instanceof ParameterizedType pt
+                    ? substitute(pt.getActualTypeArguments()[i], bindings) : params[i];
+        }
+        result.put(raw, args);
+        Map<TypeVariable<?>, Type> next = bind(raw, args);
+        if(raw.getGenericSuperclass() != null)
+            collect(raw.getGenericSuperclass(), next, result);
+        for(Type itf : raw.getGenericInterfaces())
+            collect(itf, next, result);
+    }
+
+    static Map<TypeVariable<?>, Type> bind(Class<?> raw, Type[] args) {
+        TypeVariable<?>[] params = raw.getTypeParameters();
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        for(int i = 0; i < params.length && i < args.length; i++)
+            bindings.put(params[i], args[i]);
+        return bindings;
+    }
+
+    static Type substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if(type instanceof TypeVariable<?> tv)
+            return bindings.getOrDefault(tv, tv);
+        if(type instanceof ParameterizedType pt) {
+            Type[] args = Arrays.stream(pt.getActualTypeArguments()).map(a -> substitute(a, bindings))
+                    .toArray(Type[]::new);
+            return new ResolvedParameterizedType((Class<?>) pt.getRawType(), args, pt.getOwnerType());
+        }
+        return type;
+    }
+
+    record ResolvedParameterizedType(Class<?> raw, Type[] args, Type owner) implements ParameterizedType {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return args.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return owner;
+        }
+
+        @Override
+        public String toString() {
+            return raw.getName() + Arrays.stream(args).map(Type::getTypeName)
+                    .collect(Collectors.joining(", ", "<", ">"));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class AsyncApplication {
+}
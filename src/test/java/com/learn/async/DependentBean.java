@@ -0,0 +1,21 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class DependentBean {
+    final LatchBeanA latchBean;
+
+    public boolean dependencyReady;
+
+    public DependentBean(@Autowired LatchBeanA latchBean) {
+        this.latchBean = latchBean;
+    }
+
+    @PostConstruct
+    void init() {
+        dependencyReady = latchBean.ready;
+    }
+}
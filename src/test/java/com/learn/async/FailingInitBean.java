@@ -0,0 +1,19 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.AsyncInit;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class FailingInitBean {
+    @Value("${async.fail:false}")
+    boolean fail;
+
+    @AsyncInit
+    @PostConstruct
+    void init() {
+        if(fail)
+            throw new IllegalStateException("async init failed");
+    }
+}
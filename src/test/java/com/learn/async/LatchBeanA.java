@@ -0,0 +1,24 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.AsyncInit;
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import jakarta.annotation.PostConstruct;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LatchBeanA {
+    @Autowired
+    StartupLatch startupLatch;
+
+    public volatile boolean ready;
+
+    // 两个 init 同时运行时才能通过 latch
+    @AsyncInit
+    @PostConstruct
+    void init() throws InterruptedException {
+        startupLatch.latch.countDown();
+        ready = startupLatch.latch.await(5, TimeUnit.SECONDS);
+    }
+}
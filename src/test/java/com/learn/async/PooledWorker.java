@@ -0,0 +1,16 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Pooled;
+
+import java.util.function.Supplier;
+
+// 与异步 init 的 Bean 同时存在时仍要预先创建 min 个实例
+@Component
+@Pooled(min = 2, max = 4)
+public class PooledWorker implements Supplier<String> {
+    @Override
+    public String get() {
+        return "done";
+    }
+}
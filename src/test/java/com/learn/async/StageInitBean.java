@@ -0,0 +1,25 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PostConstruct;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Component
+public class StageInitBean {
+    @Value("${async.fail:false}")
+    boolean fail;
+
+    public volatile boolean done;
+
+    @PostConstruct
+    CompletionStage<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            if(fail)
+                throw new IllegalStateException("stage init failed");
+            done = true;
+        });
+    }
+}
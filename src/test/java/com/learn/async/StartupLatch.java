@@ -0,0 +1,10 @@
+package com.learn.async;
+
+import com.learn.summer.annotation.Component;
+
+import java.util.concurrent.CountDownLatch;
+
+@Component
+public class StartupLatch {
+    public final CountDownLatch latch = new CountDownLatch(2);
+}
@@ -0,0 +1,10 @@
+package com.learn.batch;
+
+import com.learn.summer.annotation.ComponentScan;
+import com.learn.summer.annotation.Import;
+import com.learn.summer.batch.BatchedBeanPostProcessor;
+
+@ComponentScan
+@Import(BatchedBeanPostProcessor.class)
+public class BatchApplication {
+}
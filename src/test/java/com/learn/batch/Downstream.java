@@ -0,0 +1,34 @@
+package com.learn.batch;
+
+import com.learn.summer.annotation.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 模拟只有少量连接、每次查询耗时 1ms 的下游服务
+@Component
+public class Downstream {
+    final Semaphore connections = new Semaphore(4);
+    public final AtomicInteger queries = new AtomicInteger();
+
+    public Map<Integer, String> query(List<Integer> ids) {
+        connections.acquireUninterruptibly();
+        try {
+            queries.incrementAndGet();
+            Thread.sleep(1);
+            Map<Integer, String> result = new LinkedHashMap<>();
+            for(Integer id : ids) {
+                if(id >= 0)
+                    result.put(id, "user-" + id);
+            }
+            return result;
+        }catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }finally {
+            connections.release();
+        }
+    }
+}
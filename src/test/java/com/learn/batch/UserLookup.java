@@ -0,0 +1,12 @@
+package com.learn.batch;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface UserLookup {
+    String find(Integer id);
+
+    CompletableFuture<String> findAsync(Integer id);
+
+    // 不合并，用于对比
+    String findDirect(Integer id);
+}
@@ -0,0 +1,36 @@
+package com.learn.batch;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Batched;
+import com.learn.summer.annotation.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class UserLookupService implements UserLookup {
+    @Autowired
+    Downstream downstream;
+
+    @Override
+    @Batched(value = "findAll", maxSize = 64, windowMicros = 500)
+    public String find(Integer id) {
+        return findDirect(id);
+    }
+
+    @Override
+    @Batched("findAll")
+    public CompletableFuture<String> findAsync(Integer id) {
+        return CompletableFuture.completedFuture(findDirect(id));
+    }
+
+    @Override
+    public String findDirect(Integer id) {
+        return downstream.query(List.of(id)).get(id);
+    }
+
+    public Map<Integer, String> findAll(List<Integer> ids) {
+        return downstream.query(ids);
+    }
+}
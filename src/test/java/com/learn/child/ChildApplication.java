@@ -0,0 +1,7 @@
+package com.learn.child;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ChildApplication {
+}
@@ -0,0 +1,15 @@
+package com.learn.child;
+
+import com.learn.scan.proxy.OriginBean;
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+
+@Component
+public class TenantService {
+    @Autowired
+    public OriginBean shared;
+
+    @Value("${tenant.name}")
+    public String tenant;
+}
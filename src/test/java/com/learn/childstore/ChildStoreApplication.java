@@ -0,0 +1,7 @@
+package com.learn.childstore;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ChildStoreApplication {
+}
@@ -0,0 +1,10 @@
+package com.learn.childstore;
+
+import com.learn.qualifier.Region;
+import com.learn.qualifier.Store;
+import com.learn.summer.annotation.Component;
+
+@Component
+@Region("local")
+public class LocalStore implements Store {
+}
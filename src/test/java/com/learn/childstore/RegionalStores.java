@@ -0,0 +1,33 @@
+package com.learn.childstore;
+
+import com.learn.qualifier.Fast;
+import com.learn.qualifier.Region;
+import com.learn.qualifier.Store;
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.context.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+
+// 限定注解和集合注入同样查找父容器
+@Component
+public class RegionalStores {
+    @Autowired
+    @Region("eu")
+    public Store eu;
+
+    @Autowired
+    @Region("us")
+    public List<Store> us;
+
+    @Autowired
+    public List<Store> all;
+
+    @Autowired
+    public Map<String, Store> byName;
+
+    @Autowired
+    @Fast
+    public ObjectProvider<Store> fast;
+}
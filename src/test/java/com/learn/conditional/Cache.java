@@ -0,0 +1,5 @@
+package com.learn.conditional;
+
+public interface Cache {
+    String name();
+}
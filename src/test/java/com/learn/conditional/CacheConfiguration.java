@@ -0,0 +1,21 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Bean;
+import com.learn.summer.annotation.ConditionalOnProfile;
+import com.learn.summer.annotation.ConditionalOnProperty;
+import com.learn.summer.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+    @Bean
+    @ConditionalOnProperty("cache.custom")
+    Cache customCache() {
+        return () -> "custom";
+    }
+
+    @Bean
+    @ConditionalOnProfile({"dev", "test"})
+    StringBuilder devConsole() {
+        return new StringBuilder("dev");
+    }
+}
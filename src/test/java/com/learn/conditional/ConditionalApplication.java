@@ -0,0 +1,7 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ConditionalApplication {
+}
@@ -0,0 +1,13 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.ConditionalOnMissingBean;
+
+@Component
+@ConditionalOnMissingBean(Cache.class)
+public class DefaultCache implements Cache {
+    @Override
+    public String name() {
+        return "default";
+    }
+}
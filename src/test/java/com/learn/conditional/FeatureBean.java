@@ -0,0 +1,9 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.ConditionalOnProperty;
+
+@Component
+@ConditionalOnProperty("feature.enabled")
+public class FeatureBean {
+}
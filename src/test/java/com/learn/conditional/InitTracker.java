@@ -0,0 +1,5 @@
+package com.learn.conditional;
+
+public class InitTracker {
+    public static boolean integrationInitialized = false;
+}
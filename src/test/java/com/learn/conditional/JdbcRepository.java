@@ -0,0 +1,9 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Profile;
+
+@Component
+@Profile("!dev")
+public class JdbcRepository implements Repository {
+}
@@ -0,0 +1,9 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.ConditionalOnProperty;
+
+@Component
+@ConditionalOnProperty(value = "feature.mode", havingValue = "b")
+public class ModeBBean {
+}
@@ -0,0 +1,13 @@
+package com.learn.conditional;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.ConditionalOnClass;
+
+// 依赖的类不存在，不应被初始化
+@Component
+@ConditionalOnClass("com.example.missing.Client")
+public class OptionalIntegration {
+    static {
+        InitTracker.integrationInitialized = true;
+    }
+}
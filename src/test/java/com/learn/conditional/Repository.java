@@ -0,0 +1,4 @@
+package com.learn.conditional;
+
+public interface Repository {
+}
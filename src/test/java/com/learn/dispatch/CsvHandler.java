@@ -0,0 +1,13 @@
+package com.learn.dispatch;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Order;
+
+@Component
+@Order(3)
+public class CsvHandler implements Handler {
+    @Override
+    public String format() {
+        return "csv";
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.dispatch;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class DispatchApplication {
+}
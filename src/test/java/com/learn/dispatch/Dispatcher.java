@@ -0,0 +1,29 @@
+package com.learn.dispatch;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.context.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class Dispatcher {
+    public final List<Handler> handlers;
+    public final Map<String, Handler> handlersByName;
+
+    @Autowired
+    public Optional<Handler> primaryHandler;
+
+    @Autowired
+    public Optional<Runnable> missing;
+
+    @Autowired
+    public ObjectProvider<Runnable> tasks;
+
+    public Dispatcher(@Autowired List<Handler> handlers, @Autowired Map<String, Handler> handlersByName) {
+        this.handlers = handlers;
+        this.handlersByName = handlersByName;
+    }
+}
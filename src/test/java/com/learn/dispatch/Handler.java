@@ -0,0 +1,5 @@
+package com.learn.dispatch;
+
+public interface Handler {
+    String format();
+}
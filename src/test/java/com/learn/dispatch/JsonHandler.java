@@ -0,0 +1,13 @@
+package com.learn.dispatch;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Order;
+
+@Component
+@Order(1)
+public class JsonHandler implements Handler {
+    @Override
+    public String format() {
+        return "json";
+    }
+}
@@ -0,0 +1,15 @@
+package com.learn.dispatch;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Order;
+import com.learn.summer.annotation.Primary;
+
+@Component
+@Order(2)
+@Primary
+public class XmlHandler implements Handler {
+    @Override
+    public String format() {
+        return "xml";
+    }
+}
@@ -0,0 +1,34 @@
+package com.learn.expression;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+
+@Component
+public class ConnectionPool {
+    public final int size;
+    public final long timeout;
+
+    @Value("#{@cfg.maxConnections - 1}")
+    public int maxIdle;
+
+    @Value("#{${pool.size} > 4 ? 'large' : 'small'}")
+    public String kind;
+
+    @Value("#{'pool-' + ${pool.name:main}.toUpperCase()}")
+    public String name;
+
+    @Value("#{@cfg.hosts()[1]}")
+    public String secondary;
+
+    @Value("#{${pool.size} >= 8 && !${pool.readonly:false}}")
+    public boolean writable;
+
+    @Value("#{${pool.ratio:0.5} * 10}")
+    public double ratio;
+
+    public ConnectionPool(@Value("#{${pool.size} * 2}") int size,
+                          @Value("#{(1 + 2) * 1000}") long timeout) {
+        this.size = size;
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.expression;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ExpressionApplication {
+}
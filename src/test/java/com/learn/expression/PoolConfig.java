@@ -0,0 +1,23 @@
+package com.learn.expression;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+
+import java.util.List;
+
+@Component("cfg")
+public class PoolConfig {
+    private final int maxConnections;
+
+    public PoolConfig(@Value("${pool.max:16}") int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public List<String> hosts() {
+        return List.of("db-1", "db-2");
+    }
+}
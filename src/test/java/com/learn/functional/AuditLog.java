@@ -0,0 +1,8 @@
+package com.learn.functional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditLog {
+    public final List<String> lines = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.learn.functional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 没有任何注解，只能通过函数式注册
+public class Greeter {
+    public final String greeting;
+    public final List<String> events = new ArrayList<>();
+
+    public Greeter(String greeting) {
+        this.greeting = greeting;
+    }
+
+    public String greet(String name) {
+        return greeting + ", " + name;
+    }
+}
@@ -0,0 +1,16 @@
+package com.learn.functional;
+
+public class GreetingService {
+    public final Greeter greeter;
+    public AuditLog auditLog;
+
+    public GreetingService(Greeter greeter) {
+        this.greeter = greeter;
+    }
+
+    public String hello(String name) {
+        String s = greeter.greet(name);
+        auditLog.lines.add(s);
+        return s;
+    }
+}
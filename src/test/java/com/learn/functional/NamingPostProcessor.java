@@ -0,0 +1,16 @@
+package com.learn.functional;
+
+import com.learn.summer.context.BeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NamingPostProcessor implements BeanPostProcessor {
+    public final List<String> processed = new ArrayList<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        processed.add(beanName);
+        return bean;
+    }
+}
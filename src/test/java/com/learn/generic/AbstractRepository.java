@@ -0,0 +1,4 @@
+package com.learn.generic;
+
+public abstract class AbstractRepository<E> implements Repository<E> {
+}
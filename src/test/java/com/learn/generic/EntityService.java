@@ -0,0 +1,24 @@
+package com.learn.generic;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+
+import java.util.List;
+
+@Component
+public class EntityService {
+    public final Repository<User> users;
+
+    @Autowired
+    public Repository<Order> orders;
+
+    @Autowired
+    public Repository<String> strings;
+
+    @Autowired
+    public List<Repository<?>> all;
+
+    public EntityService(@Autowired Repository<User> users) {
+        this.users = users;
+    }
+}
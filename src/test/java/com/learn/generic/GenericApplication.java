@@ -0,0 +1,7 @@
+package com.learn.generic;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class GenericApplication {
+}
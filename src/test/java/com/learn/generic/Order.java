@@ -0,0 +1,4 @@
+package com.learn.generic;
+
+public class Order {
+}
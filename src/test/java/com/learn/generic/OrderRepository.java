@@ -0,0 +1,12 @@
+package com.learn.generic;
+
+import com.learn.summer.annotation.Component;
+
+// 泛型参数通过父类传递
+@Component
+public class OrderRepository extends AbstractRepository<Order> {
+    @Override
+    public String entity() {
+        return "order";
+    }
+}
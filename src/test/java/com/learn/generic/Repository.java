@@ -0,0 +1,5 @@
+package com.learn.generic;
+
+public interface Repository<T> {
+    String entity();
+}
@@ -0,0 +1,12 @@
+package com.learn.generic;
+
+import com.learn.summer.annotation.Bean;
+import com.learn.summer.annotation.Configuration;
+
+@Configuration
+public class RepositoryConfiguration {
+    @Bean
+    Repository<String> stringRepository() {
+        return () -> "string";
+    }
+}
@@ -0,0 +1,11 @@
+package com.learn.generic;
+
+import com.learn.summer.annotation.Component;
+
+@Component
+public class UserRepository implements Repository<User> {
+    @Override
+    public String entity() {
+        return "user";
+    }
+}
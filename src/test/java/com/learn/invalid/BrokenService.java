@@ -0,0 +1,23 @@
+package com.learn.invalid;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PostConstruct;
+
+@Component
+public class BrokenService {
+    @Autowired
+    Handler handler;
+
+    @Autowired
+    Runnable task;
+
+    public BrokenService(@Value("${invalid.port}") int port) {
+    }
+
+    @PostConstruct
+    void init() {
+        InitTracker.initialized = true;
+    }
+}
@@ -0,0 +1,4 @@
+package com.learn.invalid;
+
+public interface Handler {
+}
@@ -0,0 +1,5 @@
+package com.learn.invalid;
+
+public class InitTracker {
+    public static volatile boolean initialized = false;
+}
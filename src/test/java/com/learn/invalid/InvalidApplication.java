@@ -0,0 +1,7 @@
+package com.learn.invalid;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class InvalidApplication {
+}
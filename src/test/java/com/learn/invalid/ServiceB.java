@@ -0,0 +1,10 @@
+package com.learn.invalid;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+
+@Component
+public class ServiceB {
+    public ServiceB(@Autowired ServiceA a) {
+    }
+}
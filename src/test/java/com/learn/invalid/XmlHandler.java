@@ -0,0 +1,7 @@
+package com.learn.invalid;
+
+import com.learn.summer.annotation.Component;
+
+@Component
+public class XmlHandler implements Handler {
+}
@@ -0,0 +1,11 @@
+package com.learn.limit;
+
+public interface Backend {
+    String call(long millis) throws InterruptedException;
+
+    String queued(long millis) throws InterruptedException;
+
+    String ping();
+
+    String paced();
+}
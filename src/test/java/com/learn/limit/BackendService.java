@@ -0,0 +1,34 @@
+package com.learn.limit;
+
+import com.learn.summer.annotation.Bulkhead;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.RateLimited;
+
+@Component
+public class BackendService implements Backend {
+    @Override
+    @Bulkhead(maxConcurrent = "${limit.backend.concurrent:2}")
+    public String call(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "called";
+    }
+
+    @Override
+    @Bulkhead(maxConcurrent = "1", maxWait = "2000")
+    public String queued(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "queued";
+    }
+
+    @Override
+    @RateLimited(permitsPerSecond = "${limit.ping.rate}", burst = "5")
+    public String ping() {
+        return "pong";
+    }
+
+    @Override
+    @RateLimited(permitsPerSecond = "20", burst = "1", maxWait = "1000")
+    public String paced() {
+        return "paced";
+    }
+}
@@ -0,0 +1,10 @@
+package com.learn.limit;
+
+import com.learn.summer.annotation.ComponentScan;
+import com.learn.summer.annotation.Import;
+import com.learn.summer.limit.LimitBeanPostProcessor;
+
+@ComponentScan
+@Import(LimitBeanPostProcessor.class)
+public class LimitApplication {
+}
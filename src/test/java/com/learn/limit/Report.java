@@ -0,0 +1,5 @@
+package com.learn.limit;
+
+public interface Report {
+    String render(long millis) throws InterruptedException;
+}
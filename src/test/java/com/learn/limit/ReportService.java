@@ -0,0 +1,17 @@
+package com.learn.limit;
+
+import com.learn.summer.annotation.Bulkhead;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Pooled;
+
+// 池中的每个副本共用一个并发限制
+@Component
+@Pooled(min = 2, max = 2)
+@Bulkhead(maxConcurrent = "${limit.report.concurrent:1}")
+public class ReportService implements Report {
+    @Override
+    public String render(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "rendered";
+    }
+}
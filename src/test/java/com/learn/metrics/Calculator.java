@@ -0,0 +1,9 @@
+package com.learn.metrics;
+
+public interface Calculator {
+    int divide(int a, int b);
+
+    String name();
+
+    void slow(long millis) throws InterruptedException;
+}
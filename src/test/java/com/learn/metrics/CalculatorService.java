@@ -0,0 +1,25 @@
+package com.learn.metrics;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Metered;
+import com.learn.summer.annotation.Timed;
+
+@Timed
+@Component
+public class CalculatorService implements Calculator {
+    @Override
+    public int divide(int a, int b) {
+        return a / b;
+    }
+
+    @Override
+    @Metered("calculator.name")
+    public String name() {
+        return "calculator";
+    }
+
+    @Override
+    public void slow(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+}
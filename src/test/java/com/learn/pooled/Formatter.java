@@ -0,0 +1,7 @@
+package com.learn.pooled;
+
+public interface Formatter {
+    String format(int value);
+
+    String formatSlowly(int value, long millis) throws InterruptedException;
+}
@@ -0,0 +1,10 @@
+package com.learn.pooled;
+
+import com.learn.summer.annotation.ComponentScan;
+import com.learn.summer.annotation.Import;
+import com.learn.summer.metrics.TimedBeanPostProcessor;
+
+@ComponentScan
+@Import(TimedBeanPostProcessor.class)
+public class PooledApplication {
+}
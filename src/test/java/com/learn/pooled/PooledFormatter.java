@@ -0,0 +1,55 @@
+package com.learn.pooled;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Pooled;
+import com.learn.summer.annotation.Timed;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 复用同一个 StringBuilder，并发使用同一个实例会得到错误结果；
+// 每个实例另有 @Timed 代理，销毁时必须作用于各自的原始实例
+@Component
+@Timed
+@Pooled(min = 1, max = 2, idleTimeout = 100, borrowTimeout = 200)
+public class PooledFormatter implements Formatter {
+    public static final AtomicInteger CREATED = new AtomicInteger();
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean destroyed;
+
+    @Value("${pool.prefix:#}")
+    String prefix;
+
+    public PooledFormatter() {
+        CREATED.incrementAndGet();
+    }
+
+    @Override
+    public String format(int value) {
+        buffer.setLength(0);
+        buffer.append(prefix);
+        for(char c : Integer.toString(value).toCharArray()) {
+            Thread.yield();
+            buffer.append(c);
+        }
+        return buffer.toString();
+    }
+
+    @Override
+    public String formatSlowly(int value, long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return format(value);
+    }
+
+    @PreDestroy
+    void destroy() {
+        // 只统计不同实例的销毁
+        if(!destroyed) {
+            destroyed = true;
+            DESTROYED.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.learn.pooled;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+
+@Component
+public class ReportService {
+    @Autowired
+    public Formatter formatter;
+}
@@ -0,0 +1,7 @@
+package com.learn.qualifier;
+
+import com.learn.summer.annotation.Component;
+
+@Component
+public class DiskStore implements Store {
+}
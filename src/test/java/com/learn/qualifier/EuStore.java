@@ -0,0 +1,8 @@
+package com.learn.qualifier;
+
+import com.learn.summer.annotation.Component;
+
+@Component
+@Region("eu")
+public class EuStore implements Store {
+}
@@ -0,0 +1,7 @@
+package com.learn.qualifier;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class QualifierApplication {
+}
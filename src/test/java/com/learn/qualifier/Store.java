@@ -0,0 +1,4 @@
+package com.learn.qualifier;
+
+public interface Store {
+}
@@ -0,0 +1,29 @@
+package com.learn.qualifier;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Qualifier;
+
+import java.util.List;
+
+@Component
+public class StoreClient {
+    public final Store eu;
+
+    @Autowired
+    @Fast
+    @Region("us")
+    public Store fastUs;
+
+    @Autowired
+    @Qualifier("diskStore")
+    public Store disk;
+
+    @Autowired
+    @Region("us")
+    public List<Store> us;
+
+    public StoreClient(@Autowired @Region("eu") Store eu) {
+        this.eu = eu;
+    }
+}
@@ -0,0 +1,14 @@
+package com.learn.qualifier;
+
+import com.learn.summer.annotation.Bean;
+import com.learn.summer.annotation.Configuration;
+
+@Configuration
+public class StoreConfiguration {
+    @Bean
+    @Fast
+    @Region("us")
+    Store fastUsStore() {
+        return new Store() {};
+    }
+}
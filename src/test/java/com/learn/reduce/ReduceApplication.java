@@ -0,0 +1,7 @@
+package com.learn.reduce;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ReduceApplication {
+}
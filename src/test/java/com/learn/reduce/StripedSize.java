@@ -0,0 +1,18 @@
+package com.learn.reduce;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Reduce;
+import com.learn.summer.annotation.Striped;
+
+import java.util.function.IntSupplier;
+
+// @Reduce(NONE) 返回 null，不能用于返回 int 的方法
+@Component
+@Striped(2)
+public class StripedSize implements IntSupplier {
+    @Override
+    @Reduce(Reduce.Op.NONE)
+    public int getAsInt() {
+        return 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.learn.runtime;
+
+import com.learn.scan.proxy.OriginBean;
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class PluginService {
+    @Autowired
+    public OriginBean origin;
+
+    public boolean started = false;
+    public boolean stopped = false;
+
+    @PostConstruct
+    void start() {
+        started = true;
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+    }
+}
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @Order(100)
 @Component
@@ -16,6 +17,11 @@ public class FirstProxyBeanProcessor implements BeanPostProcessor {
 
     Map<String, Object> originBeans = new HashMap<>();
 
+    @Override
+    public Set<Class<?>> getBeanTypes() {
+        return Set.of(OriginBean.class);
+    }
+
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
         if(OriginBean.class.isAssignableFrom(bean.getClass())) {
@@ -0,0 +1,16 @@
+package com.learn.shutdown;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class ConnectionPool {
+    @Autowired
+    ShutdownLog log;
+
+    @PreDestroy
+    void close() {
+        log.destroyed.add("connectionPool");
+    }
+}
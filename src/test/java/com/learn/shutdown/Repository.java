@@ -0,0 +1,28 @@
+package com.learn.shutdown;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class Repository {
+    final ConnectionPool pool;
+
+    @Autowired
+    ShutdownLog log;
+
+    @Value("${shutdown.repository.delay:50}")
+    long delay;
+
+    public Repository(@Autowired ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        // 依赖的连接池必须在此之后关闭
+        Thread.sleep(delay);
+        log.destroyed.add("repository");
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.shutdown;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class ShutdownApplication {
+}
@@ -0,0 +1,13 @@
+package com.learn.shutdown;
+
+import com.learn.summer.annotation.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+@Component
+public class ShutdownLog {
+    public final List<String> destroyed = new CopyOnWriteArrayList<>();
+    public final CountDownLatch latch = new CountDownLatch(2);
+}
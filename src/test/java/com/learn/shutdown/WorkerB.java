@@ -0,0 +1,27 @@
+package com.learn.shutdown;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Value;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class WorkerB {
+    @Autowired
+    ShutdownLog log;
+
+    @Value("${shutdown.block:false}")
+    boolean block;
+
+    // 两个 Worker 并发销毁时才能通过 latch
+    @PreDestroy
+    void close() throws InterruptedException {
+        if(block)
+            Thread.sleep(60_000);
+        log.latch.countDown();
+        if(log.latch.await(5, TimeUnit.SECONDS))
+            log.destroyed.add("workerB");
+    }
+}
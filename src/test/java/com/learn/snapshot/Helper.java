@@ -0,0 +1,7 @@
+package com.learn.snapshot;
+
+import com.learn.summer.annotation.Component;
+
+@Component
+public class Helper {
+}
@@ -0,0 +1,15 @@
+package com.learn.snapshot;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+import com.learn.summer.context.BeanPostProcessor;
+
+// 构造方法依赖普通 Bean，快照中 helper 记录在它之前
+@Component
+public class HelperPostProcessor implements BeanPostProcessor {
+    public final Helper helper;
+
+    public HelperPostProcessor(@Autowired Helper helper) {
+        this.helper = helper;
+    }
+}
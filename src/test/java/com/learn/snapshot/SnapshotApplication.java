@@ -0,0 +1,7 @@
+package com.learn.snapshot;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class SnapshotApplication {
+}
@@ -0,0 +1,17 @@
+package com.learn.striped;
+
+import java.util.List;
+
+public interface HitCounter {
+    void hit();
+
+    long total();
+
+    long max();
+
+    List<Long> perStripe();
+
+    void reset();
+
+    int identity();
+}
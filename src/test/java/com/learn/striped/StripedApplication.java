@@ -0,0 +1,7 @@
+package com.learn.striped;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class StripedApplication {
+}
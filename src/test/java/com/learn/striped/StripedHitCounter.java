@@ -0,0 +1,57 @@
+package com.learn.striped;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.Reduce;
+import com.learn.summer.annotation.Striped;
+import jakarta.annotation.PreDestroy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 非线程安全的计数，由分片锁保护
+@Component
+@Striped(4)
+public class StripedHitCounter implements HitCounter {
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    long count;
+
+    @Override
+    public void hit() {
+        count++;
+    }
+
+    @Override
+    @Reduce
+    public long total() {
+        return count;
+    }
+
+    @Override
+    @Reduce(Reduce.Op.MAX)
+    public long max() {
+        return count;
+    }
+
+    @Override
+    @Reduce(Reduce.Op.LIST)
+    public List<Long> perStripe() {
+        return List.of(count);
+    }
+
+    @Override
+    @Reduce(Reduce.Op.NONE)
+    public void reset() {
+        count = 0;
+    }
+
+    @Override
+    public int identity() {
+        return System.identityHashCode(this);
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
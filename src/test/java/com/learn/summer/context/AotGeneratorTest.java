@@ -0,0 +1,94 @@
+package com.learn.summer.context;
+
+import com.learn.scan.ScanApplication;
+import com.learn.scan.init.AnnotaionInitBean;
+import com.learn.scan.primary.PersonBean;
+import com.learn.scan.primary.StudentBean;
+import com.learn.scan.proxy.InjectProxyOnConstructorBean;
+import com.learn.scan.proxy.InjectProxyOnPropertyBean;
+import com.learn.scan.proxy.OriginBean;
+import com.learn.scan.proxy.SecondProxyBean;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AotGeneratorTest {
+    @Test
+    public void testGenerate() {
+        var generator = new AotGenerator(ScanApplication.class, createPropertyResolver());
+        assertEquals("com.learn.scan.ScanApplication__BeanFactory", generator.getClassName());
+        String source = generator.generate();
+        // public 构造方法直接调用
+        assertTrue(source.contains("new com.learn.scan.proxy.InjectProxyOnConstructorBean(" +
+                "registry.<com.learn.scan.proxy.OriginBean>getBean(\"originBean\"))"));
+        // public 字段直接赋值
+        assertTrue(source.contains("((com.learn.scan.proxy.InjectProxyOnPropertyBean) bean).injected = " +
+                "registry.<com.learn.scan.proxy.OriginBean>getBean(\"originBean\");"));
+        // 非 public 的 @Bean 方法回退为反射
+        assertTrue(source.contains("registry.registerClass(\"com.learn.scan.primary.PrimaryConfiguration\");"));
+    }
+
+    @Test
+    public void testStartWithGeneratedFactory() throws Exception {
+        Path dir = Files.createTempDirectory("summer-aot");
+        var generator = new AotGenerator(ScanApplication.class, createPropertyResolver());
+        Path source = generator.writeTo(dir);
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, "-cp", System.getProperty("java.class.path"),
+                "-d", dir.toString(), source.toString()));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try(var loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, original)) {
+            Thread.currentThread().setContextClassLoader(loader);
+            // 默认不使用生成类
+            try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver())) {
+                assertNull(ctx.findAotInitializer(ScanApplication.class));
+            }
+            var ps = new Properties();
+            ps.put("summer.aot.enabled", "true");
+            try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver(ps))) {
+                assertNotNull(ctx.findAotInitializer(ScanApplication.class));
+                OriginBean proxy = ctx.getBean(OriginBean.class);
+                assertSame(SecondProxyBean.class, proxy.getClass());
+                assertEquals("Scan App", proxy.getName());
+                assertSame(proxy, ctx.getBean(InjectProxyOnConstructorBean.class).injected);
+                assertSame(proxy, ctx.getBean(InjectProxyOnPropertyBean.class).injected);
+                assertEquals("Scan App / v1.0", ctx.getBean(AnnotaionInitBean.class).appName);
+                assertEquals(StudentBean.class, ctx.getBean(PersonBean.class).getClass());
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    PropertyResolver createPropertyResolver() {
+        return createPropertyResolver(new Properties());
+    }
+
+    PropertyResolver createPropertyResolver(Properties ps) {
+        ps.put("app.title", "Scan App");
+        ps.put("app.version", "v1.0");
+        ps.put("convert.boolean", "true");
+        ps.put("convert.byte", "123");
+        ps.put("convert.short", "12345");
+        ps.put("convert.integer", "1234567");
+        ps.put("convert.long", "123456789000");
+        ps.put("convert.float", "12345.6789");
+        ps.put("convert.double", "123456789.87654321");
+        ps.put("convert.localdate", "2023-03-29");
+        ps.put("convert.localtime", "20:45:01");
+        ps.put("convert.localdatetime", "2023-03-29T20:45:01");
+        ps.put("convert.zoneddatetime", "2023-03-29T20:45:01+08:00[Asia/Shanghai]");
+        ps.put("convert.duration", "P2DT3H4M");
+        ps.put("convert.zoneid", "Asia/Shanghai");
+        return new PropertyResolver(ps);
+    }
+}
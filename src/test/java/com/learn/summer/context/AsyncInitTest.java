@@ -0,0 +1,41 @@
+package com.learn.summer.context;
+
+import com.learn.async.AsyncApplication;
+import com.learn.async.DependentBean;
+import com.learn.async.LatchBeanA;
+import com.learn.async.LatchBeanB;
+import com.learn.async.StageInitBean;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.scope.PooledScope;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncInitTest {
+    @Test
+    public void testAsyncInit() {
+        try(var ctx = new AnnotationConfigApplicationContext(AsyncApplication.class, new PropertyResolver(new Properties()))) {
+            assertTrue(ctx.getBean(LatchBeanA.class).ready);
+            assertTrue(ctx.getBean(LatchBeanB.class).ready);
+            // 依赖的异步 init 完成后才执行
+            assertTrue(ctx.getBean(DependentBean.class).dependencyReady);
+            assertTrue(ctx.getBean(StageInitBean.class).done);
+            // 异步 init 路径同样启动作用域
+            assertEquals(2, ctx.getBeanScope("pooledWorker", PooledScope.class).getIdle());
+        }
+    }
+
+    @Test
+    public void testAsyncInitFailures() {
+        var ps = new Properties();
+        ps.put("async.fail", "true");
+        var e = assertThrows(BeanCreationException.class,
+                () -> new AnnotationConfigApplicationContext(AsyncApplication.class, new PropertyResolver(ps)));
+        assertEquals(2, e.getSuppressed().length);
+        assertTrue(e.getMessage().contains("failingInitBean"));
+        assertTrue(e.getMessage().contains("stageInitBean"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.learn.summer.context;
+
+import com.learn.batch.BatchApplication;
+import com.learn.batch.Downstream;
+import com.learn.batch.UserLookup;
+import com.learn.summer.batch.BatchedBeanPostProcessor;
+import com.learn.summer.batch.MethodBatcher;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchedTest {
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Test
+    public void testBatched() throws Exception {
+        try(var ctx = new AnnotationConfigApplicationContext(BatchApplication.class,
+                new PropertyResolver(new Properties()))) {
+            UserLookup lookup = ctx.getBean(UserLookup.class);
+            List<String> results = runConcurrently(1000, i -> lookup.find(i % 100));
+            for(int i = 0; i < results.size(); i++)
+                assertEquals("user-" + i % 100, results.get(i));
+            // 没有结果的 key 得到 null，异步方法直接返回 CompletableFuture
+            assertNull(lookup.find(-1));
+            CompletableFuture<String> future = lookup.findAsync(7);
+            assertEquals("user-7", future.get());
+
+            MethodBatcher batcher = ctx.getBean(BatchedBeanPostProcessor.class).getBatchers()
+                    .get("userLookupService").get("find");
+            assertEquals(1001, batcher.getCallCount());
+            assertTrue(batcher.getBatchCount() < batcher.getCallCount() / 4);
+        }
+    }
+
+    // 吞吐量对比：下游只有 4 个连接，逐个调用受限于连接数，合并后每次查询处理一批 key
+    @Test
+    public void benchmarkThroughput() throws Exception {
+        try(var ctx = new AnnotationConfigApplicationContext(BatchApplication.class,
+                new PropertyResolver(new Properties()))) {
+            UserLookup lookup = ctx.getBean(UserLookup.class);
+            Downstream downstream = ctx.getBean(Downstream.class);
+            int calls = 4000;
+            long t = System.nanoTime();
+            runConcurrently(calls, lookup::findDirect);
+            double direct = calls / ((System.nanoTime() - t) / 1e9);
+            int directQueries = downstream.queries.getAndSet(0);
+
+            t = System.nanoTime();
+            runConcurrently(calls, lookup::find);
+            double batched = calls / ((System.nanoTime() - t) / 1e9);
+            int batchedQueries = downstream.queries.get();
+            logger.info("per-call: {} ops/s, {} queries; batched: {} ops/s, {} queries",
+                    String.format("%.0f", direct), directQueries, String.format("%.0f", batched), batchedQueries);
+            assertEquals(calls, directQueries);
+            assertTrue(batchedQueries < calls / 4);
+        }
+    }
+
+    static List<String> runConcurrently(int calls, IntFunction<String> fn) throws Exception {
+        try(var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>(calls);
+            for(int i = 0; i < calls; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> fn.apply(n)));
+            }
+            List<String> results = new ArrayList<>(calls);
+            for(Future<String> f : futures)
+                results.add(f.get());
+            return results;
+        }
+    }
+}
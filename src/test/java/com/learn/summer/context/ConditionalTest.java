@@ -0,0 +1,95 @@
+package com.learn.summer.context;
+
+import com.learn.conditional.*;
+import com.learn.summer.io.ApplicationConfigLoader;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConditionalTest {
+    @Test
+    public void testConditionsMatched() {
+        var ps = new Properties();
+        ps.put("feature.enabled", "true");
+        ps.put("feature.mode", "B");
+        ps.put("cache.custom", "true");
+        ps.put("summer.profiles.active", "prod, test");
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertNotNull(ctx.getBean(FeatureBean.class));
+            assertNotNull(ctx.getBean(ModeBBean.class));
+            assertEquals("custom", ctx.getBean(Cache.class).name());
+            assertFalse(ctx.containsBean("defaultCache"));
+            assertEquals("dev", ctx.getBean("devConsole").toString());
+        }
+    }
+
+    @Test
+    public void testConditionsUnmatched() {
+        var ps = new Properties();
+        ps.put("feature.enabled", "false");
+        ps.put("feature.mode", "a");
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.containsBean("featureBean"));
+            assertFalse(ctx.containsBean("modeBBean"));
+            assertFalse(ctx.containsBean("devConsole"));
+            assertEquals("default", ctx.getBean(Cache.class).name());
+            assertFalse(ctx.containsBean("optionalIntegration"));
+            // 类不满足条件时不会执行静态初始化
+            assertFalse(InitTracker.integrationInitialized);
+        }
+    }
+
+    @Test
+    public void testProfiles() {
+        var ps = new Properties();
+        ps.put("summer.profiles.active", "dev");
+        PropertyResolver resolver = ApplicationConfigLoader.load(ps);
+        // application-dev.yml 覆盖 application.yml
+        assertEquals("Summer Dev", resolver.getProperty("app.title"));
+        assertEquals("1.0.0", resolver.getProperty("app.version"));
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, resolver)) {
+            assertTrue(ctx.getBean(Repository.class) instanceof StubRepository);
+            assertFalse(ctx.containsBean("jdbcRepository"));
+            assertEquals("dev", ctx.getBean("devConsole").toString());
+        }
+        resolver = ApplicationConfigLoader.load();
+        assertEquals("Summer Framework", resolver.getProperty("app.title"));
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, resolver)) {
+            assertTrue(ctx.getBean(Repository.class) instanceof JdbcRepository);
+            assertFalse(ctx.containsBean("stubRepository"));
+        }
+    }
+
+    @Test
+    public void testSnapshotWithAbsentProperties() throws Exception {
+        Path file = Files.createTempFile("summer", ".snapshot");
+        Files.delete(file);
+        var ps = new Properties();
+        ps.put("summer.snapshot.file", file.toString());
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+            assertFalse(ctx.containsBean("featureBean"));
+        }
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertTrue(ctx.getSnapshot().isRestored());
+        }
+        // 录制时不存在的配置之后被设置
+        ps.put("feature.enabled", "true");
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+            assertNotNull(ctx.getBean(FeatureBean.class));
+        }
+        // 激活 profile
+        ps.put("summer.profiles.active", "dev");
+        try(var ctx = new AnnotationConfigApplicationContext(ConditionalApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+            assertTrue(ctx.getBean(Repository.class) instanceof StubRepository);
+        }
+        Files.delete(file);
+    }
+}
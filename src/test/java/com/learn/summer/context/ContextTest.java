@@ -1,7 +1,16 @@
 package com.learn.summer.context;
 
+import com.learn.child.ChildApplication;
+import com.learn.child.TenantService;
+import com.learn.childstore.ChildStoreApplication;
+import com.learn.childstore.RegionalStores;
+import com.learn.dispatch.*;
+import com.learn.generic.EntityService;
+import com.learn.generic.GenericApplication;
 import com.learn.imported.LocalDateConfiguration;
 import com.learn.imported.ZonedDateConfiguration;
+import com.learn.qualifier.*;
+import com.learn.runtime.PluginService;
 import com.learn.scan.ScanApplication;
 import com.learn.scan.convert.ValueConverterBean;
 import com.learn.scan.custom.annotation.CustomAnnotationBean;
@@ -13,15 +22,27 @@ import com.learn.scan.nested.OuterBean;
 import com.learn.scan.primary.DogBean;
 import com.learn.scan.primary.PersonBean;
 import com.learn.scan.primary.StudentBean;
+import com.learn.scan.proxy.FirstProxyBeanProcessor;
 import com.learn.scan.proxy.InjectProxyOnConstructorBean;
 import com.learn.scan.proxy.InjectProxyOnPropertyBean;
 import com.learn.scan.proxy.OriginBean;
 import com.learn.scan.proxy.SecondProxyBean;
 import com.learn.scan.sub1.sub2.sub3.Sub3Bean;
+import com.learn.snapshot.Helper;
+import com.learn.snapshot.HelperPostProcessor;
+import com.learn.snapshot.SnapshotApplication;
+import com.learn.summer.exception.NoSuchBeanDefinitionException;
+import com.learn.summer.exception.NoUniqueBeanDefinitionException;
 import com.learn.summer.io.PropertyResolver;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.*;
+import java.util.List;
 import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -152,6 +173,11 @@ public class ContextTest {
             var inject2 = ctx.getBean(InjectProxyOnConstructorBean.class);
             assertSame(proxy, inject1.injected);
             assertSame(proxy, inject2.injected);
+            // 声明了 Bean 类型的处理器只出现在匹配 Bean 的处理器链中
+            assertTrue(ctx.getBeanPostProcessors(ctx.findBeanDefinition(OriginBean.class)).stream()
+                    .anyMatch(p -> p instanceof FirstProxyBeanProcessor));
+            assertTrue(ctx.getBeanPostProcessors(ctx.findBeanDefinition(InjectProxyOnPropertyBean.class)).stream()
+                    .noneMatch(p -> p instanceof FirstProxyBeanProcessor));
         }
     }
 
@@ -164,7 +190,213 @@ public class ContextTest {
         }
     }
 
+    @Test
+    public void testStartupRecorder() {
+        var pr = createPropertyResolver();
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, pr)) {
+            assertFalse(ctx.getStartupRecorder().isEnabled());
+        }
+        var ps = createProperties();
+        ps.put("summer.startup.recorder.enabled", "true");
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps))) {
+            var recorder = ctx.getStartupRecorder();
+            assertTrue(recorder.isEnabled());
+            String report = recorder.getReport();
+            assertTrue(report.contains("create-beans"));
+            assertTrue(report.contains("class-load"));
+            assertTrue(report.contains("originBean"));
+            String json = recorder.toJson();
+            assertTrue(json.contains("\"originBean\":[\"com.learn.scan.proxy.FirstProxyBeanProcessor\""));
+        }
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("summer", ".jfr");
+        try(var recording = new Recording()) {
+            recording.enable("summer.ComponentScan");
+            recording.enable("summer.BeanInstantiation");
+            recording.enable("summer.BeanDestroy");
+            recording.start();
+            try(var ctx = new AnnotationConfigApplicationContext(
+                    ScanApplication.class, createPropertyResolver())) {
+                assertNotNull(ctx.getBean(OriginBean.class));
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("summer.ComponentScan")
+                && "com.learn.scan".equals(e.getString("packageName"))));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("summer.BeanInstantiation")
+                && "originBean".equals(e.getString("beanName"))));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("summer.BeanDestroy")));
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        Path file = Files.createTempFile("summer", ".snapshot");
+        Files.delete(file);
+        var ps = createProperties();
+        ps.put("summer.snapshot.file", file.toString());
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+        }
+        assertTrue(Files.exists(file));
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps))) {
+            assertTrue(ctx.getSnapshot().isRestored());
+            OriginBean proxy = ctx.getBean(OriginBean.class);
+            assertSame(SecondProxyBean.class, proxy.getClass());
+            assertSame(proxy, ctx.getBean(InjectProxyOnConstructorBean.class).injected);
+            assertEquals("Scan App / v1.0", ctx.getBean(AnnotaionInitBean.class).appName);
+            assertEquals(StudentBean.class, ctx.getBean(PersonBean.class).getClass());
+        }
+        // 配置变化后回退到正常启动
+        ps.put("app.title", "Changed App");
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+            assertEquals("Changed App", ctx.getBean(OriginBean.class).getName());
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testSnapshotWithProcessorDependency() throws Exception {
+        Path file = Files.createTempFile("summer", ".snapshot");
+        Files.delete(file);
+        var ps = new Properties();
+        ps.put("summer.snapshot.file", file.toString());
+        try(var ctx = new AnnotationConfigApplicationContext(SnapshotApplication.class, new PropertyResolver(ps))) {
+            assertFalse(ctx.getSnapshot().isRestored());
+        }
+        try(var ctx = new AnnotationConfigApplicationContext(SnapshotApplication.class, new PropertyResolver(ps))) {
+            assertTrue(ctx.getSnapshot().isRestored());
+            assertSame(ctx.getBean(Helper.class), ctx.getBean(HelperPostProcessor.class).helper);
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testParentContext() {
+        try(var parent = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver())) {
+            var ps = new Properties();
+            ps.put("tenant.name", "tenant-1");
+            try(var child = new AnnotationConfigApplicationContext(ChildApplication.class,
+                    new PropertyResolver(ps), parent)) {
+                assertSame(parent, ApplicationContextUtils.getApplicationContext());
+                assertSame(parent, child.getParent());
+                var service = child.getBean(TenantService.class);
+                assertEquals("tenant-1", service.tenant);
+                // 从父容器注入
+                assertSame(parent.getBean(OriginBean.class), service.shared);
+                assertSame(parent.getBean("originBean"), child.getBean("originBean"));
+                assertTrue(child.containsBean("originBean"));
+                assertFalse(parent.containsBean("tenantService"));
+            }
+            // 关闭子容器不影响父容器
+            assertSame(parent, ApplicationContextUtils.getApplicationContext());
+            assertEquals("Scan App", parent.getBean(AnnotationDestroyBean.class).appTitle);
+        }
+    }
+
+    @Test
+    public void testRuntimeRegistration() {
+        try(var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver())) {
+            ctx.registerSingleton("greeting", "hello");
+            assertEquals("hello", ctx.getBean("greeting"));
+            assertSame(ctx.getBean("greeting"), ctx.getBean(String.class));
+
+            ctx.registerBean(PluginService.class);
+            var plugin = ctx.getBean(PluginService.class);
+            assertTrue(plugin.started);
+            assertSame(ctx.getBean(OriginBean.class), plugin.origin);
+
+            var supplied = new PluginService();
+            ctx.registerBean("suppliedPlugin", PluginService.class, () -> supplied);
+            assertTrue(supplied.started);
+            assertNotNull(supplied.origin);
+            assertEquals(2, ctx.getBeans(PluginService.class).size());
+
+            assertTrue(ctx.removeBean("pluginService"));
+            assertTrue(plugin.stopped);
+            assertFalse(ctx.containsBean("pluginService"));
+            assertSame(supplied, ctx.getBean(PluginService.class));
+            assertTrue(ctx.removeBean("suppliedPlugin"));
+            assertThrows(NoSuchBeanDefinitionException.class, () -> ctx.getBean(PluginService.class));
+            assertFalse(ctx.removeBean("suppliedPlugin"));
+        }
+    }
+
+    @Test
+    public void testCollectionInjection() {
+        try(var ctx = new AnnotationConfigApplicationContext(DispatchApplication.class, createPropertyResolver())) {
+            var dispatcher = ctx.getBean(Dispatcher.class);
+            assertEquals(List.of("json", "xml", "csv"), dispatcher.handlers.stream().map(Handler::format).toList());
+            assertEquals(List.of("jsonHandler", "xmlHandler", "csvHandler"),
+                    List.copyOf(dispatcher.handlersByName.keySet()));
+            assertEquals("xml", dispatcher.primaryHandler.orElseThrow().format());
+            assertTrue(dispatcher.missing.isEmpty());
+            // 启动后缓存，同一类型返回同一列表
+            assertSame(ctx.getBeans(Handler.class), ctx.getBeans(Handler.class));
+            assertTrue(ctx.getBeans(Runnable.class).isEmpty());
+
+            assertNull(dispatcher.tasks.getIfAvailable());
+            Runnable task = () -> {};
+            ctx.registerSingleton("task", task);
+            assertSame(task, dispatcher.tasks.getObject());
+            assertEquals(List.of(task), dispatcher.tasks.getAll());
+        }
+    }
+
+    @Test
+    public void testGenericInjection() {
+        try(var ctx = new AnnotationConfigApplicationContext(GenericApplication.class, createPropertyResolver())) {
+            var service = ctx.getBean(EntityService.class);
+            assertEquals("user", service.users.entity());
+            assertEquals("order", service.orders.entity());
+            assertEquals("string", service.strings.entity());
+            assertEquals(3, service.all.size());
+        }
+    }
+
+    @Test
+    public void testQualifier() {
+        try(var ctx = new AnnotationConfigApplicationContext(QualifierApplication.class, createPropertyResolver())) {
+            var client = ctx.getBean(StoreClient.class);
+            assertSame(ctx.getBean("euStore"), client.eu);
+            assertSame(ctx.getBean("fastUsStore"), client.fastUs);
+            assertSame(ctx.getBean("diskStore"), client.disk);
+            assertEquals(List.of(ctx.getBean("fastUsStore"), ctx.getBean("usStore")), client.us);
+            // 存在多个候选时列出全部候选
+            var e = assertThrows(NoUniqueBeanDefinitionException.class, () -> ctx.getBean(Store.class));
+            assertTrue(e.getMessage().contains("memoryStore"), e.getMessage());
+            assertTrue(e.getMessage().contains("diskStore"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParentQualifier() {
+        try(var parent = new AnnotationConfigApplicationContext(QualifierApplication.class, createPropertyResolver());
+            var child = new AnnotationConfigApplicationContext(ChildStoreApplication.class,
+                    createPropertyResolver(), parent)) {
+            var stores = child.getBean(RegionalStores.class);
+            assertSame(parent.getBean("euStore"), stores.eu);
+            assertEquals(List.of(parent.getBean("fastUsStore"), parent.getBean("usStore")), stores.us);
+            // 子容器的在前，其后是父容器的
+            assertEquals(6, stores.all.size());
+            assertSame(child.getBean("localStore"), stores.all.getFirst());
+            assertSame(parent.getBean("diskStore"), stores.byName.get("diskStore"));
+            assertSame(child.getBean("localStore"), stores.byName.get("localStore"));
+            assertEquals(List.of(parent.getBean("fastUsStore"), parent.getBean("memoryStore")), stores.fast.getAll());
+        }
+    }
+
     PropertyResolver createPropertyResolver() {
+        return new PropertyResolver(createProperties());
+    }
+
+    Properties createProperties() {
         var ps = new Properties();
         ps.put("app.title", "Scan App");
         ps.put("app.version", "v1.0");
@@ -184,7 +416,7 @@ public class ContextTest {
         ps.put("convert.zoneddatetime", "2023-03-29T20:45:01+08:00[Asia/Shanghai]");
         ps.put("convert.duration", "P2DT3H4M");
         ps.put("convert.zoneid", "Asia/Shanghai");
-        var pr = new PropertyResolver(ps);
-        return pr;
+        return ps;
     }
+
 }
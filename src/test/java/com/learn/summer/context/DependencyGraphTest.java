@@ -0,0 +1,44 @@
+package com.learn.summer.context;
+
+import com.learn.invalid.InitTracker;
+import com.learn.invalid.InvalidApplication;
+import com.learn.shutdown.ShutdownApplication;
+import com.learn.summer.exception.BeanValidationException;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTest {
+    @Test
+    public void testValidation() {
+        var e = assertThrows(BeanValidationException.class, () ->
+                new AnnotationConfigApplicationContext(InvalidApplication.class, new PropertyResolver(new Properties())));
+        List<String> problems = e.getProblems();
+        // 所有问题一次报告
+        assertEquals(4, problems.size());
+        assertTrue(problems.stream().anyMatch(p -> p.contains("invalid.port")));
+        assertTrue(problems.stream().anyMatch(p -> p.contains("BrokenService.handler")));
+        assertTrue(problems.stream().anyMatch(p -> p.contains("BrokenService.task")));
+        assertTrue(problems.contains("Circular dependency between constructors: serviceA -> serviceB -> serviceA"));
+        // 校验在实例化之前完成
+        assertFalse(InitTracker.initialized);
+    }
+
+    @Test
+    public void testGraph() {
+        try(var ctx = new AnnotationConfigApplicationContext(ShutdownApplication.class,
+                new PropertyResolver(new Properties()))) {
+            DependencyGraph graph = ctx.getDependencyGraph();
+            assertTrue(graph.getProblems().isEmpty());
+            assertEquals(List.of("shutdownLog", "connectionPool", "repository"), graph.getCriticalPath());
+            assertTrue(graph.getEdges().stream().anyMatch(e -> e.from().equals("repository")
+                    && e.to().equals("connectionPool") && e.type() == DependencyGraph.EdgeType.CONSTRUCTOR));
+            assertTrue(graph.toDot().contains("\"repository\" -> \"shutdownLog\" [style=dashed];"));
+            assertTrue(graph.toJson().contains("\"criticalPath\":[\"shutdownLog\",\"connectionPool\",\"repository\"]"));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.learn.summer.context;
+
+import com.learn.expression.ConnectionPool;
+import com.learn.expression.ExpressionApplication;
+import com.learn.summer.exception.ExpressionException;
+import com.learn.summer.expression.EvaluationContext;
+import com.learn.summer.expression.Expression;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionTest {
+    @Test
+    public void testValueExpression() {
+        Properties props = new Properties();
+        props.setProperty("pool.size", "8");
+        props.setProperty("pool.name", "orders");
+        try(var ctx = new AnnotationConfigApplicationContext(ExpressionApplication.class,
+                new PropertyResolver(props))) {
+            ConnectionPool pool = ctx.getBean(ConnectionPool.class);
+            assertEquals(16, pool.size);
+            assertEquals(3000L, pool.timeout);
+            assertEquals(15, pool.maxIdle);
+            assertEquals("large", pool.kind);
+            assertEquals("pool-ORDERS", pool.name);
+            assertEquals("db-2", pool.secondary);
+            assertTrue(pool.writable);
+            assertEquals(5.0, pool.ratio);
+            // 表达式引用的 Bean 成为依赖
+            assertTrue(ctx.findBeanDefinition("connectionPool").getDependsOn().contains("cfg"));
+            // 同一个表达式在容器中只解析一次，关闭后释放
+            assertSame(ctx.parseExpression("#{${pool.size} * 2}"), ctx.parseExpression("#{${pool.size} * 2}"));
+            ctx.close();
+            assertTrue(ctx.expressions.isEmpty());
+        }
+    }
+
+    @Test
+    public void testLossyConversion() {
+        assertEquals(2, Expression.coerce(2.0, int.class));
+        assertEquals(3.0, Expression.coerce(3L, double.class));
+        assertThrows(ExpressionException.class, () -> Expression.coerce(2.5, int.class));
+        assertThrows(ExpressionException.class, () -> Expression.coerce(3_000_000_000L, int.class));
+        assertThrows(ExpressionException.class, () -> Expression.coerce(200L, byte.class));
+        assertThrows(ExpressionException.class,
+                () -> Expression.parse("#{9223372036854775807 * 2}").getValue(context(Map.of())));
+        // 方法参数不做有损转换
+        assertThrows(ExpressionException.class, () -> Expression.parse("#{'abc'.charAt(1.5)}").getValue(context(Map.of())));
+        assertEquals('b', Expression.parse("#{'abc'.charAt(1)}").getValue(context(Map.of())));
+    }
+
+    @Test
+    public void testParse() {
+        Expression expr = Expression.parse("#{${a} + ${b:2} * 3}");
+        assertEquals(List.of("${a}", "${b:2}"), expr.getPlaceholders());
+        Map<String, String> props = Map.of("${a}", "1", "${b:2}", "2");
+        assertEquals(7L, expr.getValue(context(props)));
+
+        Expression constant = Expression.parse("#{'a' + (1 + 2) * 4 + (3 > 2 ? '!' : '?')}");
+        assertTrue(constant.isConstant());
+        assertEquals("a12!", constant.getValue(context(Map.of())));
+
+        assertEquals(2L, Expression.parse("#{7 / 3}").getValue(context(Map.of())));
+        assertEquals(2.5, Expression.parse("#{5 / 2.0}").getValue(context(Map.of())));
+        assertEquals("x", Expression.parse("#{null ?: 'x'}").getValue(context(Map.of())));
+        assertEquals(3, Expression.parse("#{'abc'.length()}").getValue(context(Map.of())));
+        assertNull(Expression.parse("#{null?.length()}").getValue(context(Map.of())));
+
+        assertThrows(ExpressionException.class, () -> Expression.parse("#{1 +}"));
+        assertThrows(ExpressionException.class, () -> Expression.parse("#{'abc}"));
+        assertThrows(ExpressionException.class, () -> Expression.parse("#{1 / 0}").getValue(context(Map.of())));
+    }
+
+    static EvaluationContext context(Map<String, String> props) {
+        return new EvaluationContext() {
+            @Override
+            public String getProperty(String placeholder) {
+                return props.get(placeholder);
+            }
+
+            @Override
+            public Object getBean(String name) {
+                throw new IllegalArgumentException(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.learn.summer.context;
+
+import com.learn.functional.AuditLog;
+import com.learn.functional.Greeter;
+import com.learn.functional.GreetingService;
+import com.learn.functional.NamingPostProcessor;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FunctionalContextTest {
+    @Test
+    public void testFunctionalRegistration() {
+        var ps = new Properties();
+        ps.put("greeting", "Hi");
+        Greeter greeter;
+        try(var ctx = new AnnotationConfigApplicationContext(new PropertyResolver(ps), registry -> {
+            registry.registerBean(NamingPostProcessor.class, NamingPostProcessor::new);
+            registry.registerBean(GreetingService.class, () -> new GreetingService(registry.getBean(Greeter.class)),
+                    spec -> spec.inject(s -> s.auditLog = registry.getBean(AuditLog.class)));
+            registry.registerBean(Greeter.class,
+                    () -> new Greeter(registry.getRequiredProperty("greeting", String.class)),
+                    spec -> spec.name("greeter").order(1)
+                            .init(g -> g.events.add("init"))
+                            .destroy(g -> g.events.add("destroy")));
+            registry.registerBean(AuditLog.class, AuditLog::new);
+        })) {
+            var service = ctx.getBean(GreetingService.class);
+            assertEquals("Hi, Bob", service.hello("Bob"));
+            assertEquals(List.of("Hi, Bob"), ctx.getBean(AuditLog.class).lines);
+            greeter = ctx.getBean("greeter");
+            assertSame(greeter, service.greeter);
+            assertEquals(List.of("init"), greeter.events);
+            // BeanPostProcessor 同样作用于函数式注册的 Bean
+            var processor = ctx.getBean(NamingPostProcessor.class);
+            assertTrue(processor.processed.containsAll(List.of("greetingService", "greeter", "auditLog")));
+
+            ctx.registerBean(Greeter.class, () -> new Greeter("Hello"), spec -> spec.name("primaryGreeter").primary());
+            assertEquals("Hello", ctx.getBean(Greeter.class).greeting);
+            assertTrue(processor.processed.contains("primaryGreeter"));
+        }
+        assertEquals(List.of("init", "destroy"), greeter.events);
+    }
+}
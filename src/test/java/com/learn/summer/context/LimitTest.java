@@ -0,0 +1,112 @@
+package com.learn.summer.context;
+
+import com.learn.limit.Backend;
+import com.learn.limit.LimitApplication;
+import com.learn.limit.Report;
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.exception.LimitExceededException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.metrics.MeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimitTest {
+    AnnotationConfigApplicationContext createContext() {
+        Properties props = new Properties();
+        props.setProperty("limit.ping.rate", "0.5");
+        return new AnnotationConfigApplicationContext(LimitApplication.class, new PropertyResolver(props));
+    }
+
+    @Test
+    public void testBulkhead() throws Exception {
+        try(var ctx = createContext()) {
+            Backend backend = ctx.getBean(Backend.class);
+            MeterRegistry registry = ctx.getMeterRegistry();
+            try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                // 两个调用占满并发数后，第三个立即被拒绝
+                List<Future<String>> running = new ArrayList<>();
+                for(int i = 0; i < 2; i++)
+                    running.add(executor.submit(() -> backend.call(300)));
+                long deadline = System.currentTimeMillis() + 2000;
+                while(registry.gauge("summer.bulkhead.active", () -> 0, "bean", "backendService",
+                        "method", "call").value() < 2 && System.currentTimeMillis() < deadline)
+                    Thread.sleep(5);
+                assertThrows(LimitExceededException.class, () -> backend.call(0));
+                for(Future<String> f : running)
+                    assertEquals("called", f.get());
+                assertEquals("called", backend.call(0));
+                assertEquals(1, registry.counter("summer.bulkhead.rejected", "bean", "backendService",
+                        "method", "call").count());
+
+                // 排队模式依次执行
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> queued = new ArrayList<>();
+                long begin = System.nanoTime();
+                for(int i = 0; i < 3; i++)
+                    queued.add(executor.submit(() -> {
+                        start.await();
+                        return backend.queued(100);
+                    }));
+                start.countDown();
+                for(Future<String> f : queued)
+                    assertEquals("queued", f.get());
+                assertTrue(System.nanoTime() - begin >= 300_000_000L);
+            }
+        }
+    }
+
+    @Test
+    public void testScopedBulkhead() throws Exception {
+        try(var ctx = createContext()) {
+            Report report = ctx.getBean(Report.class);
+            MeterRegistry registry = ctx.getMeterRegistry();
+            try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                // 池中另有空闲实例，但并发数按 Bean 计算
+                Future<String> running = executor.submit(() -> report.render(300));
+                long deadline = System.currentTimeMillis() + 2000;
+                while(registry.gauge("summer.bulkhead.active", () -> 0, "bean", "reportService",
+                        "method", "*").value() < 1 && System.currentTimeMillis() < deadline)
+                    Thread.sleep(5);
+                assertThrows(LimitExceededException.class, () -> report.render(0));
+                assertEquals("rendered", running.get());
+                assertEquals("rendered", report.render(0));
+            }
+        }
+    }
+
+    @Test
+    public void testMissingLimitProperty() {
+        // limit.ping.rate 未配置
+        var e = assertThrows(BeanCreationException.class, () -> new AnnotationConfigApplicationContext(
+                LimitApplication.class, new PropertyResolver(new Properties())));
+        assertTrue(e.getMessage().contains("backendService.ping"), e.getMessage());
+    }
+
+    @Test
+    public void testRateLimited() {
+        try(var ctx = createContext()) {
+            Backend backend = ctx.getBean(Backend.class);
+            // 桶容量 5，之后每 2 秒才补充一个
+            for(int i = 0; i < 5; i++)
+                assertEquals("pong", backend.ping());
+            assertThrows(LimitExceededException.class, backend::ping);
+            assertEquals(1, ctx.getMeterRegistry().counter("summer.ratelimit.rejected", "bean", "backendService",
+                    "method", "ping").count());
+
+            // 等待模式按速率放行：20/s，容量 1
+            long begin = System.nanoTime();
+            for(int i = 0; i < 5; i++)
+                assertEquals("paced", backend.paced());
+            assertTrue(System.nanoTime() - begin >= 180_000_000L);
+        }
+    }
+}
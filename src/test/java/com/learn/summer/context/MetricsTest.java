@@ -0,0 +1,101 @@
+package com.learn.summer.context;
+
+import com.learn.metrics.Calculator;
+import com.learn.metrics.MetricsApplication;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.metrics.Counter;
+import com.learn.summer.metrics.DistributionSummary;
+import com.learn.summer.metrics.Histogram;
+import com.learn.summer.metrics.MeterRegistry;
+import com.learn.summer.metrics.Timer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+    @Test
+    public void testTimed() throws Exception {
+        try(var ctx = new AnnotationConfigApplicationContext(MetricsApplication.class,
+                new PropertyResolver(new Properties()))) {
+            Calculator calculator = ctx.getBean(Calculator.class);
+            for(int i = 1; i <= 100; i++)
+                assertEquals(100 / i, calculator.divide(100, i));
+            assertThrows(ArithmeticException.class, () -> calculator.divide(1, 0));
+            assertEquals("calculator", calculator.name());
+            calculator.slow(20);
+
+            MeterRegistry registry = ctx.getBean(MeterRegistry.class);
+            Timer divide = registry.findTimer("summer.method.timed", "bean", "calculatorService",
+                    "method", "divide").orElseThrow();
+            assertEquals(101, divide.getCount());
+            assertEquals(1, divide.getErrorCount());
+            Timer name = registry.findTimer("calculator.name", "bean", "calculatorService",
+                    "method", "name").orElseThrow();
+            assertEquals(1, name.getCount());
+            assertFalse(name.hasHistogram());
+            Histogram.Snapshot slow = registry.findTimer("summer.method.timed", "bean", "calculatorService",
+                    "method", "slow").orElseThrow().snapshot();
+            assertTrue(slow.valueAtPercentile(50) >= 20_000_000L);
+            assertTrue(registry.dump().contains("summer.method.timed{bean=calculatorService,method=divide}"));
+            // 只计数的 Timer 输出为 counter，没有 _seconds summary
+            String text = registry.scrape();
+            assertTrue(text.contains("# TYPE calculator_name_total counter\n" +
+                    "calculator_name_total{bean=\"calculatorService\",method=\"name\"} 1\n"), text);
+            assertTrue(text.contains("calculator_name_errors_total{bean=\"calculatorService\",method=\"name\"} 0\n"),
+                    text);
+            assertFalse(text.contains("calculator_name_seconds"), text);
+            assertTrue(text.contains("summer_method_timed_seconds_count{bean=\"calculatorService\",method=\"divide\"} 101\n"),
+                    text);
+        }
+    }
+
+    @Test
+    public void testRegistry() {
+        try(var ctx = new AnnotationConfigApplicationContext(MetricsApplication.class,
+                new PropertyResolver(new Properties()))) {
+            MeterRegistry registry = ctx.getMeterRegistry();
+            assertSame(registry, ctx.getBean(MeterRegistry.class));
+            // 标签顺序不同也得到同一个 MeterId 和 Meter
+            Counter counter = registry.counter("http.requests", "method", "GET", "status", "200");
+            assertSame(registry.id("http.requests", "status", "200", "method", "GET"), counter.getId());
+            assertSame(counter, registry.counter(counter.getId()));
+            counter.increment();
+            counter.increment(2);
+            assertEquals(3, counter.count());
+            assertThrows(IllegalArgumentException.class, () -> registry.timer("http.requests", "method", "GET",
+                    "status", "200"));
+
+            DistributionSummary summary = registry.summary("payload.size");
+            summary.record(100);
+            summary.record(300);
+            assertEquals(2, summary.count());
+            registry.gauge("queue.size", () -> 5);
+
+            // 容器发布的启动指标
+            String text = registry.scrape();
+            assertTrue(text.contains("# TYPE http_requests_total counter\n" +
+                    "http_requests_total{method=\"GET\",status=\"200\"} 3\n"));
+            assertTrue(text.contains("# TYPE queue_size gauge\nqueue_size 5.0\n"));
+            assertTrue(text.contains("payload_size_count 2\npayload_size_sum 400\n"));
+            assertTrue(text.contains("summer_context_startup_seconds "));
+            assertTrue(text.contains("summer_context_phase_seconds{phase=\"create-beans\"} "));
+            assertTrue(text.contains("summer_context_beans " + (double) ctx.beans.size()));
+        }
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram();
+        for(long v = 1; v <= 10_000; v++)
+            histogram.record(v * 1000);
+        Histogram.Snapshot s = histogram.snapshot();
+        assertEquals(10_000, s.count());
+        assertEquals(10_000_000, s.max());
+        // 每个 2 的幂区间 16 个桶，相对误差不超过 1/16
+        assertEquals(5_000_000, s.valueAtPercentile(50), 5_000_000 / 16.0);
+        assertEquals(9_900_000, s.valueAtPercentile(99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, s.valueAtPercentile(100));
+    }
+}
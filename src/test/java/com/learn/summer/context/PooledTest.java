@@ -0,0 +1,73 @@
+package com.learn.summer.context;
+
+import com.learn.pooled.Formatter;
+import com.learn.pooled.PooledApplication;
+import com.learn.pooled.PooledFormatter;
+import com.learn.pooled.ReportService;
+import com.learn.summer.exception.BeanPoolException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.metrics.MeterRegistry;
+import com.learn.summer.scope.PooledScope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledTest {
+    @Test
+    public void testPooled() throws Exception {
+        PooledFormatter.CREATED.set(0);
+        PooledFormatter.DESTROYED.set(0);
+        var ctx = new AnnotationConfigApplicationContext(PooledApplication.class,
+                new PropertyResolver(new Properties()));
+        // 启动时创建 min 个实例，注入和 getBean 得到同一个代理
+        assertEquals(1, PooledFormatter.CREATED.get());
+        Formatter formatter = ctx.getBean(Formatter.class);
+        assertSame(formatter, ctx.getBean(ReportService.class).formatter);
+        assertEquals("#42", formatter.format(42));
+
+        // 并发调用时每个实例同一时间只被一个线程使用
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for(int i = 0; i < 200; i++)
+                        assertEquals("#" + i, formatter.format(i));
+                }));
+            }
+            for(Future<?> f : futures)
+                f.get();
+        }
+        PooledScope scope = ctx.getBeanScope("pooledFormatter", PooledScope.class);
+        assertTrue(scope.getSize() <= 2);
+        assertEquals(0, scope.getActive());
+
+        // 借满后等待超时
+        try(PooledScope.Lease<Formatter> a = scope.borrow(); PooledScope.Lease<Formatter> b = scope.borrow()) {
+            assertNotSame(a.get(), b.get());
+            assertEquals(2, scope.getActive());
+            assertThrows(BeanPoolException.class, () -> formatter.format(1));
+        }
+        assertEquals(2, scope.getIdle());
+        MeterRegistry registry = ctx.getMeterRegistry();
+        assertEquals(1, registry.counter("summer.pool.timeouts", "bean", "pooledFormatter").count());
+        assertEquals(2.0, registry.gauge("summer.pool.size", () -> 0, "bean", "pooledFormatter").value());
+
+        // 空闲超时后淘汰到 min
+        long deadline = System.currentTimeMillis() + 2000;
+        while(scope.getSize() > 1 && System.currentTimeMillis() < deadline)
+            Thread.sleep(20);
+        assertEquals(1, scope.getSize());
+        assertEquals(PooledFormatter.CREATED.get() - 1, PooledFormatter.DESTROYED.get());
+
+        ctx.close();
+        assertEquals(PooledFormatter.CREATED.get(), PooledFormatter.DESTROYED.get());
+        assertThrows(BeanPoolException.class, () -> formatter.format(1));
+    }
+}
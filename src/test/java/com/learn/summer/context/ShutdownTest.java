@@ -0,0 +1,55 @@
+package com.learn.summer.context;
+
+import com.learn.shutdown.ShutdownApplication;
+import com.learn.shutdown.ShutdownLog;
+import com.learn.summer.io.PropertyResolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShutdownTest {
+    @Test
+    public void testOrderedParallelShutdown() {
+        ShutdownLog log;
+        try(var ctx = new AnnotationConfigApplicationContext(ShutdownApplication.class,
+                new PropertyResolver(new Properties()))) {
+            log = ctx.getBean(ShutdownLog.class);
+        }
+        assertTrue(log.destroyed.contains("workerA"));
+        assertTrue(log.destroyed.contains("workerB"));
+        assertTrue(log.destroyed.indexOf("repository") < log.destroyed.indexOf("connectionPool"));
+    }
+
+    @Test
+    public void testShutdownTimeout() {
+        var ps = new Properties();
+        ps.put("shutdown.block", "true");
+        ps.put("summer.shutdown.bean-timeout", "PT0.2S");
+        ps.put("summer.shutdown.timeout", "PT2S");
+        ShutdownLog log;
+        long start = System.currentTimeMillis();
+        try(var ctx = new AnnotationConfigApplicationContext(ShutdownApplication.class, new PropertyResolver(ps))) {
+            log = ctx.getBean(ShutdownLog.class);
+        }
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+        assertFalse(log.destroyed.contains("workerA"));
+        assertTrue(log.destroyed.contains("connectionPool"));
+    }
+
+    @Test
+    public void testShutdownTimeoutSkipsPending() throws Exception {
+        var ps = new Properties();
+        ps.put("shutdown.repository.delay", "500");
+        ps.put("summer.shutdown.timeout", "PT0.1S");
+        ShutdownLog log;
+        try(var ctx = new AnnotationConfigApplicationContext(ShutdownApplication.class, new PropertyResolver(ps))) {
+            log = ctx.getBean(ShutdownLog.class);
+        }
+        // 等待 repository 的 destroy 结束，依赖它的 connectionPool 在 close 返回后不再销毁
+        Thread.sleep(800);
+        assertTrue(log.destroyed.contains("repository"));
+        assertFalse(log.destroyed.contains("connectionPool"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.learn.summer.context;
+
+import com.learn.reduce.ReduceApplication;
+import com.learn.striped.HitCounter;
+import com.learn.striped.StripedApplication;
+import com.learn.striped.StripedHitCounter;
+import com.learn.summer.exception.BeanDefinitionException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.metrics.Gauge;
+import com.learn.summer.scope.StripedScope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedTest {
+    @Test
+    public void testStriped() throws Exception {
+        StripedHitCounter.DESTROYED.set(0);
+        var ctx = new AnnotationConfigApplicationContext(StripedApplication.class,
+                new PropertyResolver(new Properties()));
+        HitCounter counter = ctx.getBean(HitCounter.class);
+        StripedScope scope = ctx.getBeanScope("stripedHitCounter", StripedScope.class);
+        assertEquals(4, scope.getStripeCount());
+        assertEquals(0, scope.getInstanceCount());
+        // 同一线程总是路由到同一分片
+        assertEquals(counter.identity(), counter.identity());
+
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < 8; t++)
+            threads.add(Thread.ofPlatform().start(() -> {
+                for(int i = 0; i < 10_000; i++)
+                    counter.hit();
+            }));
+        for(Thread t : threads)
+            t.join();
+        assertEquals(80_000, counter.total());
+        int instances = scope.getInstanceCount();
+        assertTrue(instances >= 1 && instances <= 4);
+        assertEquals(instances, counter.perStripe().size());
+        assertEquals(counter.perStripe().stream().mapToLong(Long::longValue).max().orElseThrow(), counter.max());
+        assertEquals(80_000L, (long) scope.reduce((StripedHitCounter c) -> c.total(), 0L, Long::sum));
+
+        counter.reset();
+        assertEquals(0, counter.total());
+        assertEquals((double) instances,
+                ctx.getMeterRegistry().find("summer.striped.instances", "bean", "stripedHitCounter")
+                        .map(m -> ((Gauge) m).value()).orElseThrow());
+
+        ctx.close();
+        assertEquals(instances, StripedHitCounter.DESTROYED.get());
+    }
+
+    @Test
+    public void testInvalidReduce() {
+        var e = assertThrows(BeanDefinitionException.class, () -> new AnnotationConfigApplicationContext(
+                ReduceApplication.class, new PropertyResolver(new Properties())));
+        assertTrue(e.getMessage().contains("@Reduce(NONE)"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.learn.summer.context;
+
+import com.learn.summer.exception.BeanCreationException;
+import com.learn.summer.io.PropertyResolver;
+import com.learn.summer.scope.TaskContext;
+import com.learn.task.RequestContext;
+import com.learn.task.RequestContextBean;
+import com.learn.task.RequestHandler;
+import com.learn.task.TaskApplication;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskScopeTest {
+    @Test
+    public void testTaskScope() throws Exception {
+        RequestContextBean.CREATED.set(0);
+        RequestContextBean.DESTROYED.set(0);
+        try(var ctx = new AnnotationConfigApplicationContext(TaskApplication.class,
+                new PropertyResolver(new Properties()))) {
+            RequestHandler handler = ctx.getBean(RequestHandler.class);
+            RequestContext requestContext = ctx.getBean(RequestContext.class);
+            assertEquals(0, RequestContextBean.CREATED.get());
+            assertThrows(BeanCreationException.class, requestContext::getRequestId);
+
+            // 每个虚拟线程中的一次执行各有一个实例，执行结束即销毁
+            int tasks = 10_000;
+            long start = System.nanoTime();
+            try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<String>> futures = new ArrayList<>();
+                for(int i = 0; i < tasks; i++) {
+                    String id = "req-" + i;
+                    futures.add(executor.submit(() -> TaskContext.call(() -> handler.handle(id))));
+                }
+                for(int i = 0; i < tasks; i++)
+                    assertEquals("req-" + i, futures.get(i).get());
+            }
+            System.out.printf("%d task scopes in %d ms%n", tasks, (System.nanoTime() - start) / 1_000_000);
+            assertEquals(tasks, RequestContextBean.CREATED.get());
+            assertEquals(tasks, RequestContextBean.DESTROYED.get());
+            assertFalse(TaskContext.isActive());
+
+            // 嵌套执行有自己的实例，结束后恢复外层的
+            TaskContext.run(() -> {
+                requestContext.setRequestId("outer");
+                TaskContext.run(() -> assertNull(requestContext.getRequestId()));
+                assertEquals("outer", requestContext.getRequestId());
+            });
+            assertEquals(tasks + 2, RequestContextBean.DESTROYED.get());
+        }
+    }
+
+    @Test
+    public void testConcurrentCreation() throws Exception {
+        try(var ctx = new AnnotationConfigApplicationContext(TaskApplication.class,
+                new PropertyResolver(new Properties()))) {
+            RequestHandler handler = ctx.getBean(RequestHandler.class);
+            // 两个实例的 init 互相等待，创建过程不能持有容器级别的锁
+            RequestContextBean.initBarrier = new CountDownLatch(2);
+            RequestContextBean.OVERLAPPED.set(0);
+            try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> a = executor.submit(() -> TaskContext.call(() -> handler.handle("a")));
+                Future<String> b = executor.submit(() -> TaskContext.call(() -> handler.handle("b")));
+                assertEquals("a", a.get());
+                assertEquals("b", b.get());
+            } finally {
+                RequestContextBean.initBarrier = null;
+            }
+            assertEquals(2, RequestContextBean.OVERLAPPED.get());
+        }
+    }
+}
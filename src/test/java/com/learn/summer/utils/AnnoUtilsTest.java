@@ -6,6 +6,9 @@ import com.learn.summer.annotation.Order;
 import com.learn.summer.exception.BeanDefinitionException;
 import org.junit.jupiter.api.Test;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AnnoUtilsTest {
@@ -60,6 +63,21 @@ public class AnnoUtilsTest {
             ClassUtils.findAnnotation(DuplicateComponent2.class, Component.class);
         });
     }
+
+    @Test
+    public void mergedAnnotations() throws Exception {
+        // 自我标注的注解不会无限递归
+        MergedAnnotations merged = MergedAnnotations.from(CyclicComponent.class);
+        assertNotNull(merged.get(Cyclic.class));
+        assertTrue(merged.isComponent());
+        assertEquals("customName", merged.getStereotypes().get(CustomComponent.class).get("value"));
+        assertSame(merged, MergedAnnotations.from(CyclicComponent.class));
+    }
+}
+
+@Cyclic
+@Retention(RetentionPolicy.RUNTIME)
+@interface Cyclic {
 }
 
 @Order(1)
@@ -105,3 +123,9 @@ class DuplicateComponent {
 class DuplicateComponent2 {
 
 }
+
+@Cyclic
+@CustomComponent("customName")
+class CyclicComponent {
+
+}
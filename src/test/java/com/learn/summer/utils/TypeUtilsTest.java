@@ -0,0 +1,52 @@
+package com.learn.summer.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeUtilsTest {
+    List<String> strings;
+    Map<String, List<Integer>> nested;
+    Collection<? extends Number> numbers;
+
+    static class Names extends ArrayList<String> {
+    }
+
+    static class NameSupplier<T extends CharSequence> implements Supplier<T> {
+        @Override
+        public T get() {
+            return null;
+        }
+    }
+
+    @Test
+    public void testResolveTypeArguments() throws Exception {
+        assertArrayEquals(new Type[] {String.class}, TypeUtils.resolveTypeArguments(Names.class, List.class));
+        assertArrayEquals(new Type[] {String.class}, TypeUtils.resolveTypeArguments(Names.class, Iterable.class));
+        assertNull(TypeUtils.resolveTypeArguments(Names.class, Map.class));
+        Type type = getClass().getDeclaredField("nested").getGenericType();
+        Type[] args = TypeUtils.resolveTypeArguments(type, Map.class);
+        assertEquals(String.class, args[0]);
+        assertEquals(List.class, TypeUtils.getRawClass(args[1]));
+    }
+
+    @Test
+    public void testIsAssignable() throws Exception {
+        Type strings = getClass().getDeclaredField("strings").getGenericType();
+        Type numbers = getClass().getDeclaredField("numbers").getGenericType();
+        assertTrue(TypeUtils.isAssignable(strings, Names.class, true));
+        assertFalse(TypeUtils.isAssignable(numbers, Names.class, true));
+        // 未能解析的泛型参数只在非严格模式下匹配
+        Type supplier = TypeUtilsTest.class.getDeclaredMethod("stringSupplier").getGenericReturnType();
+        assertFalse(TypeUtils.isAssignable(supplier, NameSupplier.class, true));
+        assertTrue(TypeUtils.isAssignable(supplier, NameSupplier.class, false));
+    }
+
+    Supplier<String> stringSupplier() {
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.learn.task;
+
+public interface RequestContext {
+    String getRequestId();
+
+    void setRequestId(String requestId);
+}
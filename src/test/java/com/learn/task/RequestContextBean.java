@@ -0,0 +1,51 @@
+package com.learn.task;
+
+import com.learn.summer.annotation.Component;
+import com.learn.summer.annotation.TaskScoped;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@TaskScoped
+public class RequestContextBean implements RequestContext {
+    public static final AtomicInteger CREATED = new AtomicInteger();
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+    // 设置后 init 等待其他实例的 init 同时进行，用于检查实例创建没有被串行化
+    public static volatile CountDownLatch initBarrier;
+    public static final AtomicInteger OVERLAPPED = new AtomicInteger();
+
+    private String requestId;
+
+    public RequestContextBean() {
+        CREATED.incrementAndGet();
+    }
+
+    @Override
+    public String getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        CountDownLatch barrier = initBarrier;
+        if(barrier != null) {
+            barrier.countDown();
+            if(barrier.await(2, TimeUnit.SECONDS))
+                OVERLAPPED.incrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
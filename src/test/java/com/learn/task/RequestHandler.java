@@ -0,0 +1,16 @@
+package com.learn.task;
+
+import com.learn.summer.annotation.Autowired;
+import com.learn.summer.annotation.Component;
+
+@Component
+public class RequestHandler {
+    @Autowired
+    RequestContext requestContext;
+
+    public String handle(String requestId) {
+        requestContext.setRequestId(requestId);
+        Thread.yield();
+        return requestContext.getRequestId();
+    }
+}
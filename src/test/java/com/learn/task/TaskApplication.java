@@ -0,0 +1,7 @@
+package com.learn.task;
+
+import com.learn.summer.annotation.ComponentScan;
+
+@ComponentScan
+public class TaskApplication {
+}